@@ -0,0 +1,53 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerRequest;
+import com.example.customer.model.Customer;
+
+/**
+ * Fixed sample data shared by the benchmarks, so results are comparable between runs.
+ */
+final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = {"Brigitte", "Carlos", "Lucia", "Jorge", "Ana", "Miguel", "Rosa", "Luis"};
+    private static final String[] LAST_NAMES = {"Mendez", "Quispe", "Flores", "Rojas", "Garcia", "Torres", "Diaz", "Vargas"};
+
+    private BenchmarkData() {
+    }
+
+    static CustomerRequest validRequest() {
+        CustomerRequest request = new CustomerRequest();
+        request.setFirstName("Brigitte");
+        request.setLastName("Mendez");
+        request.setDni("45678912");
+        request.setEmail("brigitte.mendez@example.com");
+        return request;
+    }
+
+    static CustomerRequest invalidRequest() {
+        CustomerRequest request = new CustomerRequest();
+        request.setFirstName("");
+        request.setLastName("Mendez");
+        request.setDni("4567A912");
+        request.setEmail("brigitte.mendez@");
+        return request;
+    }
+
+    static Customer customer(Long id) {
+        Customer customer = new Customer("Brigitte", "Mendez", "45678912", "brigitte.mendez@example.com");
+        customer.setId(id);
+        return customer;
+    }
+
+    /**
+     * A customer as found in a real listing: names repeat across customers, DNIs and emails do not.
+     */
+    static Customer variedCustomer(long id) {
+        String firstName = FIRST_NAMES[(int) (id % FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[(int) (id / FIRST_NAMES.length % LAST_NAMES.length)];
+        Customer customer = new Customer(firstName, lastName, String.valueOf(40_000_000 + id * 7919),
+                firstName.toLowerCase() + "." + lastName.toLowerCase() + id + "@example.com");
+        customer.setId(id);
+        customer.setVersion(id % 3);
+        return customer;
+    }
+}
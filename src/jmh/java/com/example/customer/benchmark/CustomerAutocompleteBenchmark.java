@@ -0,0 +1,95 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.search.CustomerAutocompleteIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures autocomplete lookups on the in-memory index with a few million synthetic customers, without
+ * Spring or a database. Names are drawn from 26^3 last name and 26^2 first name stems, so short prefixes
+ * match many customers. The setup prints the build time and the estimated memory of the index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CustomerAutocompleteBenchmark {
+
+    private static final int LIMIT = 10; // Default number of suggestions
+
+    @Param("3000000")
+    private int customers;
+
+    private CustomerAutocompleteIndex index;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        index = new CustomerAutocompleteIndex();
+        long start = System.nanoTime();
+        CustomerAutocompleteIndex.Builder builder = index.startRebuild();
+        for (int id = 1; id <= customers; id++) {
+            String firstName = firstName(id);
+            String lastName = lastName(id);
+            builder.add((long) id, firstName, lastName,
+                    firstName.toLowerCase() + "." + lastName.toLowerCase() + id + "@example.com",
+                    String.valueOf(10_000_000 + id));
+        }
+        index.finishRebuild(builder);
+        System.out.printf("%nIndexed %d customers in %d ms, about %d MB%n", customers,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), index.memoryBytes() >> 20);
+        for (int id = customers + 1; id <= customers + 5_000; id++) { // Recent writes live in the delta
+            index.put((long) id, firstName(id), lastName(id), "new" + id + "@example.com", String.valueOf(10_000_000 + id));
+        }
+    }
+
+    @Benchmark
+    public List<CustomerResponse> lastNamePrefix() {
+        return index.suggest(lastName(ThreadLocalRandom.current().nextInt(customers)).substring(0, 3), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponse> singleLetter() {
+        return index.suggest(String.valueOf((char) ('a' + ThreadLocalRandom.current().nextInt(26))), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponse> firstAndLastNamePrefix() {
+        int id = ThreadLocalRandom.current().nextInt(customers);
+        return index.suggest(firstName(id).substring(0, 3) + " " + lastName(id).substring(0, 2), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponse> dniPrefix() {
+        return index.suggest(String.valueOf(10_000_000 + ThreadLocalRandom.current().nextInt(customers)).substring(0, 6), LIMIT);
+    }
+
+    @Benchmark
+    public List<CustomerResponse> noMatch() {
+        return index.suggest("zzzzq", LIMIT);
+    }
+
+    private static String lastName(int id) {
+        return "" + (char) ('A' + id % 26) + (char) ('a' + id / 26 % 26) + (char) ('a' + id / 676 % 26) + "ez";
+    }
+
+    private static String firstName(int id) {
+        return "" + (char) ('A' + id / 17_576 % 26) + (char) ('a' + id / 7 % 26) + "ria";
+    }
+}
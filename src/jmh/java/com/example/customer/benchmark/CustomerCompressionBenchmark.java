@@ -0,0 +1,80 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.mapper.CustomerMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures what gzip response compression saves and costs on customer listings, at the page sizes
+ * callers use. Compression runs like Tomcat's: GZIPOutputStream at the default level over the
+ * serialized body. The setup prints the plain and compressed sizes; compare the serialize and
+ * serializeAndGzip scores for the CPU added per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerCompressionBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private CustomerPage page;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        pageWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(CustomerPage.class);
+        page = new CustomerPage(LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> CustomerMapper.toResponseDto(BenchmarkData.variedCustomer(id)))
+                .toList(), "MTAw");
+        body = pageWriter.writeValueAsBytes(page);
+        byte[] compressed = gzip(body);
+        System.out.printf("%npage of %d: %d bytes, gzip %d bytes (%.0f%% saved)%n", pageSize, body.length,
+                compressed.length, 100.0 * (body.length - compressed.length) / body.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        return gzip(pageWriter.writeValueAsBytes(page));
+    }
+
+    @Benchmark
+    public byte[] gzipOnly() throws IOException {
+        return gzip(body);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
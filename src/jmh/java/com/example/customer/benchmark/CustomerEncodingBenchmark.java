@@ -0,0 +1,103 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerRequest;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares JSON with Smile, the binary encoding served on "application/x-jackson-smile", for a single
+ * customer and a page of 100. The mappers are configured like the application's message converters.
+ * The setup prints the payload sizes; decoding is measured into a tree, as callers use their own DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerEncodingBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader treeReader;
+    private ObjectReader requestReader;
+    private CustomerResponse response;
+    private CustomerPage page;
+    private byte[] encodedResponse;
+    private byte[] encodedPage;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile()
+                        .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                        .build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(CustomerResponse.class);
+        pageWriter = objectMapper.writerFor(CustomerPage.class);
+        treeReader = objectMapper.readerFor(JsonNode.class);
+        requestReader = objectMapper.readerFor(CustomerRequest.class);
+        response = CustomerMapper.toResponseDto(BenchmarkData.customer(42L));
+        page = new CustomerPage(LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> CustomerMapper.toResponseDto(BenchmarkData.variedCustomer(id)))
+                .toList(), "MTAw");
+        encodedResponse = responseWriter.writeValueAsBytes(response);
+        encodedPage = pageWriter.writeValueAsBytes(page);
+        encodedRequest = objectMapper.writeValueAsBytes(BenchmarkData.validRequest());
+        System.out.printf("%n%s: customer %d bytes, page of 100 %d bytes, request %d bytes%n", format,
+                encodedResponse.length, encodedPage.length, encodedRequest.length);
+    }
+
+    @Benchmark
+    public byte[] encodeCustomer() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodePageOf100() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode decodeCustomer() throws IOException {
+        return treeReader.readValue(encodedResponse);
+    }
+
+    @Benchmark
+    public JsonNode decodePageOf100() throws IOException {
+        return treeReader.readValue(encodedPage);
+    }
+
+    @Benchmark
+    public CustomerRequest decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerRequest;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures JSON (de)serialization of the customer DTOs with an ObjectMapper configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerJsonBenchmark {
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader requestReader;
+    private CustomerResponse response;
+    private List<CustomerResponse> page;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(CustomerResponse.class);
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CustomerResponse.class));
+        requestReader = objectMapper.readerFor(CustomerRequest.class);
+        response = CustomerMapper.toResponseDto(BenchmarkData.customer(42L));
+        page = LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> CustomerMapper.toResponseDto(BenchmarkData.customer(id)))
+                .toList();
+        requestJson = objectMapper.writeValueAsBytes(BenchmarkData.validRequest());
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePageOf50() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CustomerRequest deserializeRequest() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
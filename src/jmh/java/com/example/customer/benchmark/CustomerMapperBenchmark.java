@@ -0,0 +1,49 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.dto.CustomerRequest;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the request-to-entity and entity-to-response conversions done on every API call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerMapperBenchmark {
+
+    private CustomerRequest request;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkData.validRequest();
+        customer = BenchmarkData.customer(42L);
+    }
+
+    @Benchmark
+    public Customer toEntity() {
+        return CustomerMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public CustomerResponse toResponseDto() {
+        return CustomerMapper.toResponseDto(customer);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.CustomerApplication;
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the create and get paths with the default settings versus the "performance" profile,
+ * with more caller threads than the default pool has connections. Runs against an embedded H2 database,
+ * so the MySQL driver settings (statement cache, batch rewrite) do not apply; what differs is the pool
+ * size and the auto-commit handling. The caches are disabled so every get reaches the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class CustomerPoolSettingsBenchmark {
+
+    @Param({"default", "performance"})
+    private String profile;
+
+    @Param("10000")
+    private int seededCustomers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long firstId;
+    private final AtomicLong nextDni = new AtomicLong(50_000_000);
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerApplication.class).run(
+                "--spring.profiles.active=" + profile,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:pool-" + profile + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--customer.cache.enabled=false",
+                "--customer.entity-cache.enabled=false",
+                "--customer.outbox.relay.enabled=false",
+                "--customer.dni-filter.expected-insertions=1000000",
+                "--logging.level.root=WARN");
+        customerService = context.getBean(CustomerService.class);
+
+        List<Customer> customers = new ArrayList<>(seededCustomers);
+        for (int i = 0; i < seededCustomers; i++) {
+            customers.add(new Customer("Bench", "Mark", String.valueOf(10_000_000 + i), "bench" + i + "@example.com"));
+        }
+        firstId = context.getBean(CustomerRepository.class).saveAll(customers).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> getCustomerById() {
+        return customerService.getCustomerById(firstId + ThreadLocalRandom.current().nextInt(seededCustomers));
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        String dni = String.valueOf(nextDni.incrementAndGet());
+        return customerService.createCustomer(new Customer("Bench", "Create", dni, "create" + dni + "@example.com"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.CustomerApplication;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a keyset page of customers as response DTOs in a read-only transaction, once through managed
+ * entities and the mapper and once through the constructor-expression projection. Each operation is one
+ * row, so with -prof gc the gc.alloc.rate.norm column is the allocation per customer read; a page of one
+ * row is the by-ID case. Runs against an embedded H2 database with the entity cache disabled, so both
+ * paths read the same rows from the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param("10000")
+    private int seededCustomers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--customer.cache.enabled=false",
+                "--customer.entity-cache.enabled=false",
+                "--customer.autocomplete.enabled=false",
+                "--customer.outbox.relay.enabled=false",
+                "--logging.level.root=WARN");
+        customerRepository = context.getBean(CustomerRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Customer> customers = new ArrayList<>(seededCustomers);
+        for (int i = 0; i < seededCustomers; i++) {
+            customers.add(new Customer("Bench", "Mark", String.valueOf(10_000_000 + i), "bench" + i + "@example.com"));
+        }
+        firstId = customerRepository.saveAll(customers).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse entityById() {
+        long id = randomId(1);
+        return readOnly.execute(status -> customerRepository.findById(id).map(CustomerMapper::toResponseDto).orElseThrow());
+    }
+
+    @Benchmark
+    public CustomerResponse projectionById() {
+        long id = randomId(1);
+        return readOnly.execute(status -> customerRepository.findResponseById(id).orElseThrow());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CustomerResponse> entityPage() {
+        long afterId = randomId(PAGE_SIZE) - 1;
+        return readOnly.execute(status -> entityManager
+                .createQuery("select c from Customer c where c.id > :afterId order by c.id", Customer.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(CustomerMapper::toResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CustomerResponse> projectionPage() {
+        long afterId = randomId(PAGE_SIZE) - 1;
+        return readOnly.execute(status -> customerRepository.findResponsesByIdGreaterThan(afterId, Limit.of(PAGE_SIZE)));
+    }
+
+    private long randomId(int rowsAfter) {
+        return firstId + ThreadLocalRandom.current().nextInt(seededCustomers - rowsAfter + 1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.CustomerApplication;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerSearchCriteria;
+import com.example.customer.service.CustomerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search API on a table of a million customers in H2, with the indexes declared on the
+ * Customer entity. The setup prints the query plans so index use can be checked. Two JDBC baselines run
+ * the last name search in shapes that cannot use the index: through LOWER(), and sorted by ID only
+ * (the optimizer then walks the primary key and filters).
+ * H2 runs with IGNORECASE=TRUE to mirror the case-insensitive collation of the table on MySQL.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20; // Default search page size
+
+    @Param("1000000")
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:search-benchmark;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--customer.dni-filter.enabled=false",
+                "--logging.level.root=WARN");
+        customerService = context.getBean(CustomerService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // Set-based insert: about 57 customers per three-letter last name prefix, first names independent of it
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, dni, email) "
+                + "SELECT X, "
+                + "CHAR(65 + MOD(X / 17576, 26)) || CHAR(97 + MOD(X / 7, 26)) || 'ria', "
+                + "CHAR(65 + MOD(X, 26)) || CHAR(97 + MOD(X / 26, 26)) || CHAR(97 + MOD(X / 676, 26)) || 'ez', "
+                + "CAST(10000000 + X AS VARCHAR), "
+                + "'customer' || X || '@example.com' "
+                + "FROM SYSTEM_RANGE(1, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+
+        printPlan("last name prefix", "SELECT * FROM customers WHERE last_name LIKE 'Mar%' ORDER BY last_name, id LIMIT 21");
+        printPlan("last name prefix, next page", "SELECT * FROM customers WHERE last_name LIKE 'Mar%' "
+                + "AND last_name >= 'Marez' AND (last_name > 'Marez' OR id > 5000) ORDER BY last_name, id LIMIT 21");
+        printPlan("first name prefix", "SELECT * FROM customers WHERE first_name LIKE 'Ha%' ORDER BY first_name, id LIMIT 21");
+        printPlan("DNI prefix", "SELECT * FROM customers WHERE dni LIKE '1012%' ORDER BY dni LIMIT 21");
+        printPlan("email", "SELECT * FROM customers WHERE email = 'customer42@example.com' ORDER BY email, id LIMIT 21");
+        printPlan("LOWER(last_name)", "SELECT * FROM customers WHERE LOWER(last_name) LIKE 'mar%' ORDER BY last_name, id LIMIT 21");
+        printPlan("sorted by ID only", "SELECT * FROM customers WHERE id > 0 AND last_name LIKE 'Mar%' ORDER BY id LIMIT 21");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerPage lastNamePrefix() {
+        return customerService.searchCustomers(new CustomerSearchCriteria(null, null, randomNamePrefix(), null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage lastAndFirstNamePrefix() {
+        String firstName = String.valueOf((char) ('A' + ThreadLocalRandom.current().nextInt(26)));
+        return customerService.searchCustomers(
+                new CustomerSearchCriteria(null, firstName, randomNamePrefix(), null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage dniPrefix() {
+        String dniPrefix = String.valueOf(10_000_000 + ThreadLocalRandom.current().nextInt(rows)).substring(0, 5);
+        return customerService.searchCustomers(new CustomerSearchCriteria(dniPrefix, null, null, null), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage exactEmail() {
+        String email = "customer" + (1 + ThreadLocalRandom.current().nextInt(rows)) + "@example.com";
+        return customerService.searchCustomers(new CustomerSearchCriteria(null, null, null, email), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CustomerPage lastNamePrefixSecondPage() {
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria(null, null, randomNamePrefix(), null);
+        CustomerPage firstPage = customerService.searchCustomers(criteria, null, PAGE_SIZE);
+        return customerService.searchCustomers(criteria, firstPage.getNext(), PAGE_SIZE);
+    }
+
+    /**
+     * Baseline: the same last name search written with LOWER(), which forces a scan of the table.
+     */
+    @Benchmark
+    public List<Map<String, Object>> lastNamePrefixWithLower() {
+        return jdbcTemplate.queryForList("SELECT * FROM customers WHERE LOWER(last_name) LIKE ? "
+                + "ORDER BY last_name, id LIMIT " + (PAGE_SIZE + 1), randomNamePrefix() + "%");
+    }
+
+    /**
+     * Baseline: the same last name search with keyset pagination on the ID alone.
+     */
+    @Benchmark
+    public List<Map<String, Object>> lastNamePrefixSortedById() {
+        return jdbcTemplate.queryForList("SELECT * FROM customers WHERE id > 0 AND last_name LIKE ? "
+                + "ORDER BY id LIMIT " + (PAGE_SIZE + 1), randomNamePrefix() + "%");
+    }
+
+    private static String randomNamePrefix() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new String(new char[]{
+                (char) ('a' + random.nextInt(26)), (char) ('a' + random.nextInt(26)), (char) ('a' + random.nextInt(26))});
+    }
+
+    private void printPlan(String label, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        System.out.printf("%nPlan for %s:%n%s%n", label, plan);
+    }
+}
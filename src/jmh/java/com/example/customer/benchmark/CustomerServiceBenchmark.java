@@ -0,0 +1,125 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.CustomerApplication;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.service.CustomerService;
+import com.example.customer.service.impl.DniValidationServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end benchmarks of CustomerService against an embedded H2 database.
+ * Covers the service, Spring Data repository, Hibernate and JDBC layers; the HTTP layer is not involved.
+ * The response cache is disabled so every read reaches the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerServiceBenchmark {
+
+    private static final int BATCH_KEYS = 20;
+    private static final int PAGE_SIZE = 50;
+
+    @Param("10000")
+    private int seededCustomers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private long firstId;
+    private final AtomicLong nextDni = new AtomicLong(50_000_000);
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(CustomerApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--customer.cache.enabled=false",
+                "--customer.dni-filter.expected-insertions=1000000",
+                "--logging.level.root=WARN");
+        customerService = context.getBean(CustomerService.class);
+
+        List<Customer> customers = new ArrayList<>(seededCustomers);
+        for (int i = 0; i < seededCustomers; i++) {
+            customers.add(new Customer("Bench", "Mark", String.valueOf(10_000_000 + i), "bench" + i + "@example.com"));
+        }
+        firstId = context.getBean(CustomerRepository.class).saveAll(customers).get(0).getId();
+        context.getBean(DniValidationServiceImpl.class).rebuild(); // Includes the seeded DNIs in the filter
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> getCustomerById() {
+        return customerService.getCustomerById(randomSeededId());
+    }
+
+    @Benchmark
+    public List<CustomerResponse> getCustomersAfter() {
+        return customerService.getCustomersAfter(randomSeededId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BatchGetResponse getCustomersByIdsAndDnis() {
+        List<Long> ids = new ArrayList<>(BATCH_KEYS);
+        List<String> dnis = new ArrayList<>(BATCH_KEYS);
+        for (int i = 0; i < BATCH_KEYS; i++) {
+            long id = randomSeededId();
+            ids.add(id);
+            dnis.add(String.valueOf(10_000_000 + id - firstId));
+        }
+        return customerService.getCustomersByIdsAndDnis(ids, dnis);
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        String dni = String.valueOf(nextDni.incrementAndGet());
+        return customerService.createCustomer(new Customer("Bench", "Create", dni, "create" + dni + "@example.com"));
+    }
+
+    @Benchmark
+    public Customer updateCustomer() {
+        long id = randomSeededId();
+        String dni = String.valueOf(10_000_000 + id - firstId); // Same DNI, so only the names and email change
+        return customerService.updateCustomer(id, new Customer("Bench", "Updated", dni,
+                "updated" + ThreadLocalRandom.current().nextInt() + "@example.com"));
+    }
+
+    private long randomSeededId() {
+        return firstId + ThreadLocalRandom.current().nextInt(seededCustomers);
+    }
+}
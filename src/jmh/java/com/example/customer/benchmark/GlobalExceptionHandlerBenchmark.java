@@ -0,0 +1,86 @@
+package com.example.customer.benchmark;
+
+import com.example.customer.config.GlobalExceptionHandler;
+import com.example.customer.dto.CustomerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast GlobalExceptionHandler turns exceptions into error responses.
+ * The exceptions are created once, so only the response building is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodArgumentNotValidException validationException;
+    private IllegalArgumentException illegalArgumentException;
+    private DataIntegrityViolationException dataIntegrityViolationException;
+    private NoSuchElementException noSuchElementException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        BeanPropertyBindingResult bindingResult =
+                new BeanPropertyBindingResult(BenchmarkData.invalidRequest(), "customerRequest");
+        bindingResult.addError(new FieldError("customerRequest", "firstName", "First name is required."));
+        bindingResult.addError(new FieldError("customerRequest", "dni", "DNI must contain only numbers."));
+        bindingResult.addError(new FieldError("customerRequest", "email", "Invalid email format."));
+        MethodParameter parameter = new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", CustomerRequest.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+        illegalArgumentException = new IllegalArgumentException("DNI already exists.");
+        dataIntegrityViolationException = new DataIntegrityViolationException("Duplicate entry '45678912' for key 'dni'");
+        noSuchElementException = new NoSuchElementException("Customer not found.");
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> validationErrors() {
+        return handler.handleValidationExceptions(validationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> illegalArgument() {
+        return handler.handleIllegalArgumentException(illegalArgumentException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> dataIntegrityViolation() {
+        return handler.handleDataIntegrityViolationException(dataIntegrityViolationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> notFound() {
+        return handler.handleNoSuchElementException(noSuchElementException);
+    }
+
+    /**
+     * Stand-in controller method whose parameter the validation exception refers to.
+     */
+    @SuppressWarnings("unused")
+    private void target(CustomerRequest request) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.customer.cache;
+
+import com.example.customer.dto.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache of CustomerResponse keyed by customer ID.
+ * Entries are evicted by size and expire after a fixed time-to-live; writes must call
+ * {@link #invalidate(Long)}. Hit, miss and eviction counts are published as the
+ * "customers.by-id" cache metrics. When disabled, every lookup goes to the loader.
+ */
+@Component
+public class CustomerResponseCache {
+
+    private final Cache<Long, CustomerResponse> cache; // Null when the cache is disabled
+
+    public CustomerResponseCache(MeterRegistry meterRegistry,
+                                 @Value("${customer.cache.enabled:true}") boolean enabled,
+                                 @Value("${customer.cache.maximum-size:100000}") long maximumSize,
+                                 @Value("${customer.cache.ttl:10m}") Duration ttl) {
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers.by-id");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the cached customer, loading and caching it on a miss. Missing customers are not cached.
+     *
+     * @param id     The ID of the customer.
+     * @param loader Loads the customer when it is not cached.
+     * @return The customer, or empty if the loader found nothing.
+     */
+    public Optional<CustomerResponse> get(Long id, Function<Long, Optional<CustomerResponse>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Returns the cached customer without loading it.
+     *
+     * @param id The ID of the customer.
+     * @return The cached customer, or empty if it is not cached.
+     */
+    public Optional<CustomerResponse> getIfPresent(Long id) {
+        return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Removes a customer from the cache after it was updated or deleted.
+     *
+     * @param id The ID of the customer.
+     */
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+}
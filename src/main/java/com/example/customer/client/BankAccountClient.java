@@ -1,41 +1,153 @@
 package com.example.customer.client;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service class for interacting with the Bank Account microservice.
- * Provides functionality to check if a customer has active bank accounts.
+ * Provides functionality to check if a customer, or which of many customers, has active bank accounts.
+ *
+ * Calls are bounded by a timeout and guarded by a circuit breaker. When the answer cannot be
+ * trusted the client fails closed by throwing {@link BankAccountServiceUnavailableException}
+ * instead of reporting that the customer has no accounts. Only an explicit empty list means no
+ * accounts: an error status, such as a 404 from a wrong base URL or a missing route, or a response
+ * without a body is not an answer.
  */
 @Service
-@RequiredArgsConstructor
 public class BankAccountClient {
 
+    private static final ParameterizedTypeReference<List<Long>> CUSTOMER_IDS = new ParameterizedTypeReference<>() {
+    };
+
     private final WebClient webClient; // WebClient used to interact with the Bank Account microservice.
+    private final CircuitBreaker circuitBreaker;
+    private final Duration callTimeout;
+    private final Counter rejectedCalls;
+    private final Timer successfulCalls;
+    private final Timer failedCalls;
+
+    public BankAccountClient(WebClient webClient, CircuitBreaker bankAccountsCircuitBreaker, MeterRegistry meterRegistry,
+                             @Value("${microservices.bank-accounts.call-timeout:3s}") Duration callTimeout) {
+        this.webClient = webClient;
+        this.circuitBreaker = bankAccountsCircuitBreaker;
+        this.callTimeout = callTimeout;
+        this.rejectedCalls = Counter.builder("customer.bank.accounts.circuit.rejected")
+                .description("Calls to the bank accounts service rejected by the open circuit breaker")
+                .register(meterRegistry);
+        this.successfulCalls = callTimer(meterRegistry, "success");
+        this.failedCalls = callTimer(meterRegistry, "error");
+    }
+
+    /**
+     * Checks if a customer has active bank accounts without blocking the calling thread.
+     *
+     * @param customerId The ID of the customer.
+     * @return A Mono emitting true if the customer has active bank accounts, false if not, or
+     *         an error of type BankAccountServiceUnavailableException if the service cannot answer.
+     */
+    public Mono<Boolean> hasBankAccountsAsync(Long customerId) {
+        // Sends a GET request to the endpoint /api/accounts/customer/{customerId}
+        return guarded(() -> webClient.get()
+                .uri("/customer/{customerId}", customerId) // Replace {customerId} with the actual customer ID
+                .retrieve()
+                .bodyToMono(List.class) // Expecting a response body containing a list of bank accounts
+                .map(bankAccounts -> !bankAccounts.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Bank account service answered without a body."))));
+    }
+
+    /**
+     * Asks which of the given customers have active bank accounts, in a single call to the batch endpoint
+     * of the Bank Account microservice (POST /api/accounts/customers/with-accounts with a JSON array of
+     * customer IDs, answered with the array of those that have accounts).
+     *
+     * @param customerIds The IDs of the customers.
+     * @return A Mono emitting the IDs of the customers that have active bank accounts, or an error of type
+     *         BankAccountServiceUnavailableException if the service cannot answer.
+     */
+    public Mono<Set<Long>> findCustomersWithBankAccountsAsync(Collection<Long> customerIds) {
+        return guarded(() -> webClient.post()
+                .uri("/customers/with-accounts")
+                .bodyValue(customerIds)
+                .retrieve()
+                .bodyToMono(CUSTOMER_IDS)
+                .map(ids -> (Set<Long>) new HashSet<>(ids))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Bank account service answered without a body."))));
+    }
 
     /**
      * Checks if a customer has active bank accounts by calling the Bank Account microservice.
+     * Waits at most the configured call timeout.
      *
      * @param customerId The ID of the customer.
      * @return true if the customer has active bank accounts; false otherwise.
+     * @throws BankAccountServiceUnavailableException If the service cannot give a reliable answer.
      */
     public boolean hasBankAccounts(Long customerId) {
-        try {
-            // Sends a GET request to the endpoint /api/accounts/customer/{customerId}
-            List<?> bankAccounts = webClient.get()
-                    .uri("/customer/{customerId}", customerId) // Replace {customerId} with the actual customer ID
-                    .retrieve()
-                    .bodyToMono(List.class) // Expecting a response body containing a list of bank accounts
-                    .block(); // Blocks the reactive flow and retrieves the result synchronously
-
-            // Checks if the list is not null or empty
-            return bankAccounts != null && !bankAccounts.isEmpty();
-        } catch (Exception e) {
-            return false;
-        }
+        return Boolean.TRUE.equals(hasBankAccountsAsync(customerId).block());
     }
 
+    /**
+     * Runs a call through the circuit breaker, bounded by the call timeout, and reports any failure as
+     * a BankAccountServiceUnavailableException.
+     */
+    private <T> Mono<T> guarded(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                rejectedCalls.increment();
+                return Mono.error(new BankAccountServiceUnavailableException(
+                        "Bank account service is unavailable (circuit open); customer accounts cannot be verified."));
+            }
+            Timer.Sample sample = Timer.start();
+            return call.get()
+                    .timeout(callTimeout)
+                    .doOnSuccess(result -> {
+                        sample.stop(successfulCalls);
+                        circuitBreaker.onSuccess();
+                    })
+                    .doOnError(error -> {
+                        sample.stop(failedCalls);
+                        recordFailure(error);
+                    })
+                    .doOnCancel(circuitBreaker::onCancel) // Caller timeout, disconnect or a failed sibling in a zip
+                    .onErrorMap(e -> new BankAccountServiceUnavailableException(
+                            "Bank account service did not answer; customer accounts cannot be verified.", e));
+        });
+    }
+
+    /**
+     * Calls are timed from subscription until the answer or error, including the wait for a pooled connection.
+     */
+    private static Timer callTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("customer.bank.accounts.calls")
+                .description("Latency of calls to the bank accounts service")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Client errors (4xx) mean the service is up, so only other failures count against the breaker.
+     */
+    private void recordFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError()) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.customer.client;
+
+/**
+ * Thrown when the Bank Account microservice cannot give a reliable answer
+ * (timeout, connection failure, server error or open circuit breaker).
+ */
+public class BankAccountServiceUnavailableException extends RuntimeException {
+
+    public BankAccountServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public BankAccountServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.customer.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal lock-free circuit breaker for calls to a downstream service.
+ * Opens after a number of consecutive failures, rejects calls while open, and after the
+ * open duration lets a limited number of probe calls through (half-open) to decide
+ * whether to close again or re-open. A cancelled probe counts as a failed one; a probe that
+ * never reports back is written off after another open duration, when new probes are let through.
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of the breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger probesStarted = new AtomicInteger();
+    private final AtomicLong probesStartedAt = new AtomicLong(); // When the current round of probes was let through
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes) {
+        this(failureThreshold, openDuration, halfOpenProbes, System::nanoTime);
+    }
+
+    /**
+     * Creates a breaker with an explicit clock, mainly for tests.
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, int halfOpenProbes, LongSupplier nanoClock) {
+        if (failureThreshold < 1 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Failure threshold and half-open probes must be positive.");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asks permission to make a call.
+     *
+     * @return True if the call may proceed; false if the breaker is rejecting calls.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        if (current == State.OPEN) {
+            if (now - openedAt < openDurationNanos) {
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                probesStartedAt.set(now);
+                probesStarted.set(0);
+            }
+        } else {
+            long startedAt = probesStartedAt.get();
+            if (now - startedAt >= openDurationNanos && probesStartedAt.compareAndSet(startedAt, now)) {
+                probesStarted.set(0); // The probes never reported back; start a new round
+            }
+        }
+        return state.get() == State.HALF_OPEN && probesStarted.incrementAndGet() <= halfOpenProbes;
+    }
+
+    /**
+     * Records a successful call; a successful probe closes the breaker.
+     */
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state.compareAndSet(State.HALF_OPEN, State.CLOSED);
+    }
+
+    /**
+     * Records a failed call; a failed probe or too many consecutive failures open the breaker.
+     */
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = nanoClock.getAsLong();
+            consecutiveFailures.set(0);
+            state.set(State.OPEN);
+        }
+    }
+
+    /**
+     * Records a call that was cancelled before it answered. It says nothing about the service, except
+     * for a probe, which counts as failed: otherwise the breaker would stay half-open with no probe left.
+     */
+    public void onCancel() {
+        if (state.get() == State.HALF_OPEN) {
+            onFailure();
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.customer.config;
+
+import com.example.customer.model.Customer;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for the Customer entity, kept in local Caffeine caches through JCache.
+ * Customers are cached by ID in the "customers" region and their IDs by DNI, the natural ID, in the
+ * "customers-by-dni" region. Hibernate updates both when a customer is updated or deleted through the
+ * persistence context; bulk JPQL statements evict the whole regions. Each instance has its own cache, so
+ * changes made by other instances are seen after the TTL at most; writes still check the version in the
+ * database, and DNI uniqueness checks never read the cache. Hit and miss counts are published as the cache metrics of both regions. When disabled,
+ * the second-level cache is turned off explicitly, as Hibernate would otherwise find the JCache
+ * provider on the classpath and create unbounded regions on its own.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    /**
+     * Creates the cache manager holding the second-level cache regions, bounded in size and expiring
+     * entries a fixed time after they were written.
+     *
+     * @return The cache manager handed to Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "customer.entity-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager entityCacheManager(MeterRegistry meterRegistry,
+                                           @Value("${customer.entity-cache.maximum-size:100000}") long maximumSize,
+                                           @Value("${customer.entity-cache.ttl:10m}") Duration ttl) {
+        // A URI of its own, so every application context gets a new cache manager instead of the shared default
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("customer-entity-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : new String[] {Customer.CACHE_REGION, Customer.DNI_CACHE_REGION}) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStoreByValue(false); // Hibernate caches immutable disassembled state, so no copies are needed
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Turns on Hibernate's second-level cache over the regions above, or off when the cache is disabled.
+     * Only entities annotated with {@link org.hibernate.annotations.Cache} are cached; an unknown region
+     * fails the startup.
+     *
+     * @return The customizer adding the cache settings to the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(ObjectProvider<CacheManager> entityCacheManagers) {
+        CacheManager entityCacheManager = entityCacheManagers.getIfAvailable();
+        return properties -> {
+            if (entityCacheManager == null) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
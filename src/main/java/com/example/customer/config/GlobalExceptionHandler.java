@@ -1,12 +1,19 @@
 package com.example.customer.config;
 
+import com.example.customer.client.BankAccountServiceUnavailableException;
+import com.example.customer.model.Customer;
+import com.example.customer.service.CustomerVersionMismatchException;
+import com.example.customer.service.DuplicateDniException;
+import com.example.customer.util.ConstraintViolations;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +44,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST); // Returns a 400 Bad Request status
     }
 
+    /**
+     * Handles validation errors for request bodies on the reactive stack.
+     *
+     * @param ex The WebExchangeBindException thrown when validation fails.
+     * @return A ResponseEntity containing a map of field-specific error messages with HTTP status 400.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST); // Returns a 400 Bad Request status
+    }
+
     /**
      * Handles IllegalArgumentException, typically thrown for invalid arguments.
      *
@@ -51,19 +71,69 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST); // Returns a 400 Bad Request status
     }
 
+    /**
+     * Handles DuplicateDniException, thrown when the DNI already belongs to another customer.
+     *
+     * @param ex The DuplicateDniException thrown.
+     * @return A ResponseEntity containing the error message and HTTP status 409.
+     */
+    @ExceptionHandler(DuplicateDniException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateDniException(DuplicateDniException ex) {
+        return duplicateDni();
+    }
+
     /**
      * Handles DataIntegrityViolationException, typically caused by database constraint violations.
+     * A duplicate key on the DNI constraint gets the same response as {@link DuplicateDniException}. Any other
+     * duplicate key, such as one in the outbox written in the same transaction, is a server fault.
      *
      * @param ex The DataIntegrityViolationException thrown.
-     * @return A ResponseEntity containing a detailed error message and HTTP status 409.
+     * @return A ResponseEntity containing the error message and HTTP status 409, or 500 for other duplicate keys.
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (ConstraintViolations.isUniqueViolation(ex, Customer.DNI_CONSTRAINT)) {
+            return duplicateDni();
+        }
+        if (ConstraintViolations.isUniqueViolation(ex)) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "The change could not be saved."); // Hides the constraint and SQL details
+            errorResponse.put("status", "500"); // Specifies the HTTP status code
+            return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR); // Returns a 500 Internal Server Error status
+        }
         Map<String, String> errorResponse = new HashMap<>();
         errorResponse.put("error", "Data integrity violation: " + ex.getMessage()); // Adds detailed error message
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT); // Returns a 409 Conflict status
     }
 
+    /**
+     * Handles OptimisticLockingFailureException, thrown when a concurrent update committed first.
+     *
+     * @param ex The OptimisticLockingFailureException thrown.
+     * @return A ResponseEntity containing the error message and HTTP status 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "The customer was modified concurrently; read it again and retry."); // Hides ORM details
+        errorResponse.put("status", "409"); // Specifies the HTTP status code
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT); // Returns a 409 Conflict status
+    }
+
+    /**
+     * Handles CustomerVersionMismatchException, thrown when the If-Match version is no longer current.
+     *
+     * @param ex The CustomerVersionMismatchException thrown.
+     * @return A ResponseEntity containing the error message and HTTP status 412.
+     */
+    @ExceptionHandler(CustomerVersionMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleCustomerVersionMismatchException(CustomerVersionMismatchException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage()); // Adds the exception message to the response
+        errorResponse.put("status", "412"); // Specifies the HTTP status code
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED); // Returns a 412 Precondition Failed status
+    }
+
     /**
      * Handles IllegalStateException, typically thrown when an operation is not allowed in the current state.
      *
@@ -90,4 +160,26 @@ public class GlobalExceptionHandler {
         errorResponse.put("error", ex.getMessage()); // Adds the exception message to the response
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND); // Returns a 404 Not Found status
     }
+
+    /**
+     * Handles BankAccountServiceUnavailableException, thrown when customer accounts cannot be verified.
+     *
+     * @param ex The BankAccountServiceUnavailableException thrown.
+     * @return A ResponseEntity containing the error message and HTTP status 503.
+     */
+    @ExceptionHandler(BankAccountServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleBankAccountServiceUnavailableException(
+            BankAccountServiceUnavailableException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", ex.getMessage()); // Adds the exception message to the response
+        errorResponse.put("status", "503"); // Specifies the HTTP status code
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE); // Returns a 503 Service Unavailable status
+    }
+
+    private static ResponseEntity<Map<String, String>> duplicateDni() {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", DuplicateDniException.MESSAGE); // Hides the constraint and SQL details
+        errorResponse.put("status", "409"); // Specifies the HTTP status code
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT); // Returns a 409 Conflict status
+    }
 }
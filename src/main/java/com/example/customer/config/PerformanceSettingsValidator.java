@@ -0,0 +1,126 @@
+package com.example.customer.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs a warning at startup for each pool, thread and JDBC setting that does not fit the others, such as
+ * a connection pool far smaller than the number of requests Tomcat runs at once. Only reads the
+ * configuration; nothing is changed and startup never fails because of it. See the "performance" profile
+ * for settings that pass every check.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PerformanceSettingsValidator {
+
+    // Requests that may share a connection before waiting for one becomes the norm: most requests only hold
+    // a connection for part of their time, and many are answered from the caches
+    static final int MAX_REQUESTS_PER_CONNECTION = 4;
+
+    private static final int DEFAULT_POOL_SIZE = 10; // HikariCP's default
+    private static final int DEFAULT_TOMCAT_THREADS = 200; // Spring Boot's default
+
+    private final Environment environment;
+
+    public PerformanceSettingsValidator(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Checks the settings once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        check().forEach(log::warn);
+    }
+
+    /**
+     * @return One message per mismatch found; empty when the settings fit together.
+     */
+    List<String> check() {
+        List<String> warnings = new ArrayList<>();
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+        int minimumIdle = environment.getProperty("spring.datasource.hikari.minimum-idle", Integer.class, poolSize);
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int tomcatThreads = environment.getProperty("server.tomcat.threads.max", Integer.class, DEFAULT_TOMCAT_THREADS);
+        boolean concurrencyLimited = environment.getProperty("customer.rate-limit.enabled", Boolean.class, false);
+        int concurrencyLimit = environment.getProperty("customer.concurrency-limit.max", Integer.class, 200);
+
+        // Requests that can run at once: Tomcat's platform threads, unless the adaptive limit is lower
+        String bound = null;
+        int concurrentRequests = 0;
+        if (concurrencyLimited && (virtualThreads || concurrencyLimit < tomcatThreads)) {
+            bound = "customer.concurrency-limit.max";
+            concurrentRequests = concurrencyLimit;
+        } else if (!virtualThreads) {
+            bound = "server.tomcat.threads.max";
+            concurrentRequests = tomcatThreads;
+        } else {
+            warnings.add(String.format("Virtual threads are on and customer.rate-limit.enabled=false: nothing bounds "
+                    + "the requests running at once, and all of them may queue for the %d pool connections "
+                    + "(spring.datasource.hikari.maximum-pool-size). Enable the concurrency limit.", poolSize));
+        }
+        if (bound != null) {
+            checkPoolAgainstConcurrency(warnings, poolSize, bound, concurrentRequests);
+        }
+        if (minimumIdle < poolSize) {
+            warnings.add(String.format("spring.datasource.hikari.minimum-idle=%d is below maximum-pool-size=%d; the pool "
+                    + "shrinks when idle and bursts wait for connections to be opened.", minimumIdle, poolSize));
+        }
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false)) {
+            warnings.add("spring.jpa.show-sql=true writes every statement to standard output.");
+        }
+        checkMySqlDriver(warnings);
+        return warnings;
+    }
+
+    /**
+     * Compares the pool with the requests that can run at once, named by the setting that bounds them.
+     */
+    private static void checkPoolAgainstConcurrency(List<String> warnings, int poolSize, String bound, int concurrentRequests) {
+        if (concurrentRequests > poolSize * MAX_REQUESTS_PER_CONNECTION) {
+            warnings.add(String.format("%s=%d requests can run at once, more than %d times the %d pool connections "
+                            + "(spring.datasource.hikari.maximum-pool-size); requests will wait for connections and "
+                            + "time out under load. Raise the pool size or lower %s.",
+                    bound, concurrentRequests, MAX_REQUESTS_PER_CONNECTION, poolSize, bound));
+        }
+        if (poolSize > concurrentRequests) {
+            warnings.add(String.format("spring.datasource.hikari.maximum-pool-size=%d is larger than the %d requests "
+                    + "that can run at once (%s); the extra connections are never used.", poolSize, concurrentRequests, bound));
+        }
+    }
+
+    private void checkMySqlDriver(List<String> warnings) {
+        String url = environment.getProperty("spring.datasource.url", "");
+        if (!url.startsWith("jdbc:mysql:")) {
+            return;
+        }
+        Map<String, String> driverProperties = Binder.get(environment)
+                .bind("spring.datasource.hikari.data-source-properties", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        int batchSize = environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 1);
+        if (batchSize > 1 && !isEnabled("rewriteBatchedStatements", url, driverProperties)) {
+            warnings.add("hibernate.jdbc.batch_size=" + batchSize + " without rewriteBatchedStatements=true: MySQL "
+                    + "runs a batch as one INSERT per row.");
+        }
+        if (!isEnabled("cachePrepStmts", url, driverProperties)) {
+            warnings.add("MySQL prepared statements are not cached (cachePrepStmts); every statement is prepared again. "
+                    + "Set it in spring.datasource.hikari.data-source-properties or run with the performance profile.");
+        }
+    }
+
+    private static boolean isEnabled(String driverProperty, String url, Map<String, String> driverProperties) {
+        return url.contains(driverProperty + "=true") || "true".equals(driverProperties.get(driverProperty));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.customer.config;
+
+import com.example.customer.ratelimit.AdaptiveConcurrencyLimiter;
+import com.example.customer.ratelimit.RateLimitFilter;
+import com.example.customer.ratelimit.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Rate limits and load shedding for the customer API, see {@link RateLimitFilter}. Off unless
+ * customer.rate-limit.enabled=true, since the per-client rate would also throttle the services that call the API.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "customer.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    /**
+     * Creates the limit on customer API requests in flight and publishes it, with the requests in
+     * flight, as gauges.
+     *
+     * @return The adaptive concurrency limiter.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter customerConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${customer.concurrency-limit.initial:40}") int initialLimit,
+            @Value("${customer.concurrency-limit.min:10}") int minLimit,
+            @Value("${customer.concurrency-limit.max:200}") int maxLimit,
+            @Value("${customer.concurrency-limit.latency-threshold:500ms}") Duration latencyThreshold,
+            @Value("${customer.concurrency-limit.backoff-ratio:0.9}") double backoffRatio) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio);
+        Gauge.builder("customer.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Customer API requests currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("customer.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Customer API requests in flight")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Registers the admission filter on the customer API ahead of the other filters, so rejected
+     * requests cost as little as possible.
+     *
+     * @return The registration of the rate limit filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            AdaptiveConcurrencyLimiter customerConcurrencyLimiter, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+            @Value("${customer.rate-limit.client-id-header:X-Client-Id}") String clientIdHeader,
+            @Value("${customer.rate-limit.trusted-proxies:}") String[] trustedProxies,
+            @Value("${customer.rate-limit.client.requests-per-second:50}") double clientRate,
+            @Value("${customer.rate-limit.client.burst:100}") int clientBurst,
+            @Value("${customer.rate-limit.endpoint.requests-per-second:500}") double endpointRate,
+            @Value("${customer.rate-limit.endpoint.burst:1000}") int endpointBurst,
+            @Value("${customer.rate-limit.maximum-clients:100000}") long maximumClients) {
+        RateLimitFilter filter = new RateLimitFilter(
+                () -> new TokenBucket(clientRate, clientBurst),
+                () -> new TokenBucket(endpointRate, endpointBurst),
+                customerConcurrencyLimiter, clientIdHeader, Set.copyOf(Arrays.asList(trustedProxies)), maximumClients, meterRegistry, objectMapper);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/customers", "/api/customers/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10); // After the observation filter, so rejections show in http.server.requests
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.customer.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuration for the reactive stack (profile "reactive").
+ * In this mode Spring Boot does not create the JDBC DataSource, so the JPA-based services are not loaded.
+ * Reactive writes do not record change events in the outbox, so the application refuses to start in this
+ * mode unless the outbox relay is turned off (customer.outbox.relay.enabled=false, as in
+ * application-reactive.properties): feed consumers would otherwise silently miss the reactive writes.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStackConfig {
+
+    public ReactiveStackConfig(@Value("${customer.outbox.relay.enabled:true}") boolean outboxRelayEnabled) {
+        if (outboxRelayEnabled) {
+            throw new IllegalStateException("The reactive stack does not record customer change events. "
+                    + "Set customer.outbox.relay.enabled=false to run it without the change feed, "
+                    + "or run the servlet stack.");
+        }
+    }
+
+    /**
+     * Serves the reactive stack on Reactor Netty; Tomcat is also on the classpath for the servlet stack
+     * and would otherwise be picked first.
+     *
+     * @return The Netty web server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Creates the operator used to run reactive R2DBC work in a transaction.
+     *
+     * @return A TransactionalOperator bound to the R2DBC connection factory.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.customer.config;
+
+import com.example.customer.datasource.ReadReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the read replicas listed in customer.read-replicas.urls[0], [1], ...
+ * (indexed, as JDBC URLs may hold commas).
+ * The DataSource is a LazyConnectionDataSourceProxy over the primary: the physical connection is only
+ * taken at the first statement, once the transaction is known to be read-only, and read-only
+ * connections come from a {@link ReadReplicaDataSource}. So @Transactional(readOnly = true) service
+ * methods read from a replica, while writes and reads outside a read-only transaction, such as the DNI
+ * uniqueness check, stay on the primary. Without the property Spring Boot's single DataSource is used.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "customer.read-replicas.urls[0]")
+public class ReadReplicaConfig {
+
+    /**
+     * Creates the primary and replica connection pools, all configured from spring.datasource.*
+     * (replicas use the same credentials), and the routing DataSource over them.
+     *
+     * @return The DataSource used by JPA.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${customer.read-replicas.retry-interval:30s}") Duration retryInterval,
+                                 @Value("${customer.read-replicas.connection-timeout:1s}") Duration connectionTimeout) {
+        List<String> replicaUrls = Binder.get(environment)
+                .bind("customer.read-replicas.urls", Bindable.listOf(String.class))
+                .get();
+        HikariDataSource primary = pool(properties, environment, meterRegistry, properties.determineUrl(), "primary");
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(properties, environment, meterRegistry, replicaUrls.get(i).trim(), "replica-" + (i + 1));
+            replica.setConnectionTimeout(connectionTimeout.toMillis()); // Fail over quickly instead of queueing for a dead replica
+            replica.setInitializationFailTimeout(-1); // A replica that is down at startup fails its connections instead of the pool
+            replicas.put(replica.getPoolName(), replica);
+        }
+        RoutingDataSource dataSource = new RoutingDataSource(primary, replicas.values());
+        ReadReplicaDataSource readOnlyDataSource = new ReadReplicaDataSource(primary, new LinkedHashMap<>(replicas),
+                retryInterval, meterRegistry);
+        readOnlyDataSource.bindTo(meterRegistry);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                         String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool)); // Same pool settings for every database
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    /**
+     * Closes the primary and replica pools with the application context.
+     */
+    private static final class RoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final List<HikariDataSource> pools = new ArrayList<>();
+
+        private RoutingDataSource(HikariDataSource primary, Collection<HikariDataSource> replicas) {
+            super(primary);
+            pools.add(primary);
+            pools.addAll(replicas);
+        }
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
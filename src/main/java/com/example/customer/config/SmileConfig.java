@@ -0,0 +1,34 @@
+package com.example.customer.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Serves and accepts Smile (binary JSON, "application/x-jackson-smile") next to JSON.
+ * Callers opt in with the Accept or Content-Type header; JSON stays the default.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SmileConfig {
+
+    /**
+     * Creates the Smile converter from Spring Boot's Jackson builder, so both formats share the same
+     * modules and spring.jackson settings. Spring Boot puts it in place of the default Smile converter.
+     * Repeated property names and short repeated values (such as names in a page of customers) are
+     * written once and referenced afterwards.
+     *
+     * @return The Smile message converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(smileFactory).build());
+    }
+}
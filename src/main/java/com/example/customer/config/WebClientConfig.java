@@ -1,9 +1,18 @@
 package com.example.customer.config;
 
+import com.example.customer.client.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * Configuration class for WebClient.
@@ -17,15 +26,70 @@ public class WebClientConfig {
     @Value("${microservices.bank-accounts.base-url}")
     private String bankAccountsBaseUrl;
 
+    @Value("${microservices.bank-accounts.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${microservices.bank-accounts.pending-acquire-max-count:100}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${microservices.bank-accounts.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${microservices.bank-accounts.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${microservices.bank-accounts.response-timeout:2s}")
+    private Duration responseTimeout;
+
+    /**
+     * Creates a bounded connection pool for the Account Microservice.
+     * Pool metrics (active, idle and pending connections) are published through Micrometer.
+     *
+     * @return The connection provider used by the bank accounts WebClient.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider bankAccountsConnectionProvider() {
+        return ConnectionProvider.builder("bank-accounts")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount) // Fail fast instead of queueing without bound
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
     /**
      * Creates a WebClient bean with a base URL for the Account Microservice.
      *
      * @return A configured WebClient instance.
      */
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    public WebClient webClient(WebClient.Builder builder, ConnectionProvider bankAccountsConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(bankAccountsConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
         return builder
                 .baseUrl(bankAccountsBaseUrl) // Base URL for the Account Microservice
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
+
+    /**
+     * Creates the circuit breaker guarding calls to the Account Microservice and publishes its state
+     * as a gauge (0 = closed, 1 = open, 2 = half-open).
+     *
+     * @return The circuit breaker for the bank accounts client.
+     */
+    @Bean
+    public CircuitBreaker bankAccountsCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${microservices.bank-accounts.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${microservices.bank-accounts.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${microservices.bank-accounts.circuit-breaker.half-open-probes:1}") int halfOpenProbes) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(failureThreshold, openDuration, halfOpenProbes);
+        Gauge.builder("customer.bank.accounts.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the bank accounts circuit breaker (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
 }
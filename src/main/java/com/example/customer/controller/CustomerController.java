@@ -1,9 +1,22 @@
 package com.example.customer.controller;
 
+import com.example.customer.dto.BatchGetRequest;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.BulkDeleteReport;
+import com.example.customer.dto.BulkDeleteRequest;
+import com.example.customer.dto.CustomerChangeFeed;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.ImportReport;
 import com.example.customer.dto.CustomerRequest;
 import com.example.customer.dto.CustomerResponse;
+import com.example.customer.dto.CustomerSearchCriteria;
+import com.example.customer.mapper.CustomerImportReader;
 import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.service.CustomerBulkDeleteService;
+import com.example.customer.service.CustomerImportService;
 import com.example.customer.service.CustomerService;
+import com.example.customer.util.CursorCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,13 +26,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 /**
  * CustomerController handles HTTP requests for managing customers.
@@ -31,13 +53,26 @@ import java.util.stream.Collectors;
 @RestController
 @RequestMapping("/api/customers")
 @Tag(name = "Customer", description = "Operaciones sobre Customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomerController {
 
+  private static final int MAX_PAGE_SIZE = 1000;
+  private static final int MAX_SEARCH_PAGE_SIZE = 100;
+  private static final int MAX_SUGGESTIONS = 50;
+  private static final byte NEW_LINE = '\n';
+
   private final CustomerService customerService;
+  private final CustomerImportService customerImportService;
+  private final CustomerBulkDeleteService customerBulkDeleteService;
+  private final ObjectMapper objectMapper;
 
   @Autowired
-  public CustomerController(CustomerService customerService) {
+  public CustomerController(CustomerService customerService, CustomerImportService customerImportService,
+                            CustomerBulkDeleteService customerBulkDeleteService, ObjectMapper objectMapper) {
     this.customerService = customerService;
+    this.customerImportService = customerImportService;
+    this.customerBulkDeleteService = customerBulkDeleteService;
+    this.objectMapper = objectMapper;
   }
 
   @Operation(summary = "Create a new customer", description = "Registers a new customer in the system")
@@ -53,30 +88,149 @@ public class CustomerController {
     return new ResponseEntity<>(CustomerMapper.toResponseDto(customer), HttpStatus.CREATED);
   }
 
-  @Operation(summary = "Get all customers", description = "Retrieve a list of all customers")
-  @ApiResponse(responseCode = "200", description = "List of customers",
-          content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class)))
+  @Operation(summary = "Bulk import customers",
+          description = "Imports customers from a JSON array, NDJSON or CSV (header: firstName,lastName,dni,email)")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Import report with the outcome of every row",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportReport.class))),
+          @ApiResponse(responseCode = "400", description = "Malformed file", content = @Content)
+  })
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+  public ResponseEntity<ImportReport> importCustomers(
+          @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+    Iterator<CustomerRequest> rows = MediaType.parseMediaType("text/csv").includes(contentType)
+            ? CustomerImportReader.readCsv(body)
+            : CustomerImportReader.readJson(body, objectMapper);
+    return new ResponseEntity<>(customerImportService.importCustomers(CustomerMapper.toEntities(rows)), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Get customers", description = "Retrieve a page of customers using a cursor on the ID")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Page of customers",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerPage.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content)
+  })
   @GetMapping
-  public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
-    var customers = customerService.getAllCustomers();
-    var customerResponseDtos = customers.stream()
-            .map(CustomerMapper::toResponseDto)
-            .collect(Collectors.toList());
-    return new ResponseEntity<>(customerResponseDtos, HttpStatus.OK);
+  public ResponseEntity<CustomerPage> getAllCustomers(
+          @RequestParam(required = false) @Parameter(description = "Cursor returned as 'next' by the previous page") String cursor,
+          @RequestParam(defaultValue = "100") @Parameter(description = "Maximum number of customers to return (1-1000)") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+    }
+    // Fetch one extra row to know whether another page exists
+    var customers = customerService.getCustomersAfter(CursorCodec.decode(cursor), limit + 1);
+    boolean hasNext = customers.size() > limit;
+    var customerResponseDtos = hasNext ? customers.subList(0, limit) : customers;
+    String next = hasNext ? CursorCodec.encode(customerResponseDtos.get(limit - 1).getId()) : null;
+    return new ResponseEntity<>(new CustomerPage(customerResponseDtos, next), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Search customers",
+          description = "Search by DNI prefix, first/last name prefix (case-insensitive) and exact email; "
+                  + "criteria are combined with AND and results are paged with a cursor")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Page of matching customers",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerPage.class))),
+          @ApiResponse(responseCode = "400", description = "No criteria, invalid DNI prefix, cursor or limit", content = @Content)
+  })
+  @GetMapping("/search")
+  public ResponseEntity<CustomerPage> searchCustomers(
+          @RequestParam(required = false) @Parameter(description = "Start of the DNI") String dni,
+          @RequestParam(required = false) @Parameter(description = "Start of the first name, any case") String firstName,
+          @RequestParam(required = false) @Parameter(description = "Start of the last name, any case") String lastName,
+          @RequestParam(required = false) @Parameter(description = "Exact email address") String email,
+          @RequestParam(required = false) @Parameter(description = "Cursor returned as 'next' by the previous page") String cursor,
+          @RequestParam(defaultValue = "20") @Parameter(description = "Maximum number of customers to return (1-100)") int limit) {
+    if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_PAGE_SIZE + ".");
+    }
+    var criteria = new CustomerSearchCriteria(dni, firstName, lastName, email);
+    return new ResponseEntity<>(customerService.searchCustomers(criteria, cursor, limit), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Autocomplete customers",
+          description = "Suggests customers whose first name, last name, email or DNI starts with the query (any case); "
+                  + "two words match first and last name")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Suggested customers",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid limit", content = @Content)
+  })
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<CustomerResponse>> autocompleteCustomers(
+          @RequestParam @Parameter(description = "Text typed so far", required = true) String q,
+          @RequestParam(defaultValue = "10") @Parameter(description = "Maximum number of customers to return (1-50)") int limit) {
+    if (limit < 1 || limit > MAX_SUGGESTIONS) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS + ".");
+    }
+    return new ResponseEntity<>(customerService.autocompleteCustomers(q, limit), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Feed of customer changes",
+          description = "Returns the creates, updates and deletes after the given offset, in order; "
+                  + "poll again with 'next' as 'since' to receive only new changes")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Changes after the offset",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerChangeFeed.class))),
+          @ApiResponse(responseCode = "400", description = "Invalid offset or limit", content = @Content)
+  })
+  @GetMapping("/changes")
+  public ResponseEntity<CustomerChangeFeed> getChanges(
+          @RequestParam(defaultValue = "0") @Parameter(description = "Offset returned as 'next' by the previous call") long since,
+          @RequestParam(defaultValue = "100") @Parameter(description = "Maximum number of changes to return (1-1000)") int limit) {
+    if (since < 0) {
+      throw new IllegalArgumentException("Offset must not be negative.");
+    }
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+    }
+    return new ResponseEntity<>(customerService.getChanges(since, limit), HttpStatus.OK);
+  }
+
+  @Operation(summary = "Stream all customers", description = "Streams every customer as newline-delimited JSON")
+  @ApiResponse(responseCode = "200", description = "Stream of customers",
+          content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CustomerResponse.class)))
+  @GetMapping(produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+    StreamingResponseBody body = outputStream -> {
+      try {
+        customerService.streamAllCustomers(customer -> writeLine(outputStream, CustomerMapper.toResponseDto(customer)));
+      } catch (UncheckedIOException e) {
+        throw e.getCause(); // Client disconnected or write failed
+      }
+    };
+    return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
   }
 
   @Operation(summary = "Get a customer by ID", description = "Retrieve details of a specific customer by ID")
   @ApiResponses(value = {
           @ApiResponse(responseCode = "200", description = "Customer found",
                   content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class))),
+          @ApiResponse(responseCode = "304", description = "Not modified since the version in If-None-Match", content = @Content),
           @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content)
   })
   @GetMapping("/{id}")
   public ResponseEntity<CustomerResponse> getCustomerById(
           @PathVariable @Parameter(description = "ID of the customer", required = true) Long id) {
-    var customer = customerService.getCustomerById(id)
+    var customer = customerService.getCustomerResponseById(id)
             .orElseThrow(() -> new NoSuchElementException("Customer not found with ID: " + id));
-    return new ResponseEntity<>(CustomerMapper.toResponseDto(customer), HttpStatus.OK);
+    // Spring MVC answers 304 without a body when If-None-Match matches this ETag
+    return ResponseEntity.ok().eTag(eTag(customer.getVersion())).body(customer);
+  }
+
+  @Operation(summary = "Get many customers", description = "Retrieve customers by a list of IDs and/or DNIs in one call")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Customers found and keys not found",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchGetResponse.class))),
+          @ApiResponse(responseCode = "400", description = "Too many keys", content = @Content)
+  })
+  @PostMapping("/batch-get")
+  public ResponseEntity<BatchGetResponse> getCustomersBatch(
+          @Valid @RequestBody @Parameter(description = "IDs and DNIs to look up", required = true) BatchGetRequest batchGetRequest) {
+    var response = customerService.getCustomersByIdsAndDnis(batchGetRequest.getIds(), batchGetRequest.getDnis());
+    return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
   @Operation(summary = "Update a customer", description = "Updates the information of an existing customer")
@@ -84,14 +238,32 @@ public class CustomerController {
           @ApiResponse(responseCode = "200", description = "Customer updated successfully",
                   content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerResponse.class))),
           @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
-          @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content)
+          @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content),
+          @ApiResponse(responseCode = "409", description = "DNI already belongs to another customer", content = @Content),
+          @ApiResponse(responseCode = "412", description = "If-Match does not match the current version", content = @Content)
   })
   @PutMapping("/{id}")
   public ResponseEntity<CustomerResponse> updateCustomer(
           @PathVariable @Parameter(description = "ID of the customer", required = true) Long id,
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          @Parameter(description = "ETag of the version the update is based on") String ifMatch,
           @Valid @RequestBody @Parameter(description = "Updated customer data", required = true) CustomerRequest customerRequestDto) {
-    var updatedCustomer = customerService.updateCustomer(id, CustomerMapper.toEntity(customerRequestDto));
-    return new ResponseEntity<>(CustomerMapper.toResponseDto(updatedCustomer), HttpStatus.OK);
+    var updatedCustomer = customerService.updateCustomer(id, CustomerMapper.toEntity(customerRequestDto),
+            expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(eTag(updatedCustomer.getVersion())).body(CustomerMapper.toResponseDto(updatedCustomer));
+  }
+
+  @Operation(summary = "Delete many customers",
+          description = "Deletes customers by ID, skipping those with bank accounts or whose accounts cannot be verified")
+  @ApiResponses(value = {
+          @ApiResponse(responseCode = "200", description = "Report with the outcome for every ID",
+                  content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteReport.class))),
+          @ApiResponse(responseCode = "400", description = "No IDs or too many IDs", content = @Content)
+  })
+  @PostMapping("/bulk-delete")
+  public ResponseEntity<BulkDeleteReport> deleteCustomers(
+          @Valid @RequestBody @Parameter(description = "IDs of the customers to delete", required = true) BulkDeleteRequest bulkDeleteRequest) {
+    return new ResponseEntity<>(customerBulkDeleteService.deleteCustomers(bulkDeleteRequest.getIds()), HttpStatus.OK);
   }
 
   @Operation(summary = "Delete a customer", description = "Deletes a customer by ID")
@@ -105,4 +277,45 @@ public class CustomerController {
     customerService.deleteCustomer(id);
     return new ResponseEntity<>(HttpStatus.NO_CONTENT);
   }
+
+  /**
+   * Builds the strong ETag of a customer version, or null when the version is not known.
+   */
+  private static String eTag(Long version) {
+    return version == null ? null : String.valueOf(version);
+  }
+
+  /**
+   * Reads the version expected by an If-Match header: null when absent or '*', which match any existing customer.
+   * Weak or foreign tags never match a strong customer ETag, so they map to a version that cannot exist.
+   */
+  private static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) {
+      return null;
+    }
+    List<ETag> tags = ETag.parse(ifMatch);
+    if (tags.stream().anyMatch(ETag::isWildcard)) {
+      return null;
+    }
+    if (tags.size() != 1) {
+      throw new IllegalArgumentException("If-Match must hold a single ETag.");
+    }
+    ETag tag = tags.get(0);
+    if (tag.weak() || tag.tag().isEmpty() || !tag.tag().chars().allMatch(Character::isDigit)) {
+      return -1L;
+    }
+    return Long.valueOf(tag.tag());
+  }
+
+  /**
+   * Writes a single customer as one NDJSON line.
+   */
+  private void writeLine(OutputStream outputStream, CustomerResponse customerResponse) {
+    try {
+      outputStream.write(objectMapper.writeValueAsBytes(customerResponse));
+      outputStream.write(NEW_LINE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
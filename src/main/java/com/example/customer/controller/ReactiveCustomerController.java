@@ -0,0 +1,99 @@
+package com.example.customer.controller;
+
+import com.example.customer.dto.BatchGetRequest;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerRequest;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.service.ReactiveCustomerService;
+import com.example.customer.util.CursorCodec;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+/**
+ * ReactiveCustomerController exposes the core customer endpoints of {@link CustomerController} on WebFlux
+ * (profile "reactive"): create, read, update and delete, the keyset listing, the NDJSON stream and
+ * batch-get. Search, autocomplete, the change feed, bulk import and delete, and ETag preconditions are
+ * only served by the servlet stack, and reactive writes record no change events.
+ * Every endpoint is non-blocking, and the NDJSON listing streams rows from R2DBC with backpressure.
+ */
+@RestController
+@RequestMapping("/api/customers")
+@Tag(name = "Customer", description = "Operaciones sobre Customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController {
+
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  private final ReactiveCustomerService customerService;
+
+  public ReactiveCustomerController(ReactiveCustomerService customerService) {
+    this.customerService = customerService;
+  }
+
+  @PostMapping
+  public Mono<ResponseEntity<CustomerResponse>> createCustomer(@Valid @RequestBody CustomerRequest customerRequestDto) {
+    return customerService.createCustomer(CustomerMapper.toEntity(customerRequestDto))
+            .map(customer -> new ResponseEntity<>(CustomerMapper.toResponseDto(customer), HttpStatus.CREATED));
+  }
+
+  @GetMapping
+  public Mono<ResponseEntity<CustomerPage>> getAllCustomers(
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "100") int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      return Mono.error(new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + "."));
+    }
+    // Fetch one extra row to know whether another page exists
+    return customerService.getCustomersAfter(CursorCodec.decode(cursor), limit + 1)
+            .map(CustomerMapper::toResponseDto)
+            .collectList()
+            .map(customers -> {
+              boolean hasNext = customers.size() > limit;
+              var content = hasNext ? customers.subList(0, limit) : customers;
+              String next = hasNext ? CursorCodec.encode(content.get(limit - 1).getId()) : null;
+              return new ResponseEntity<>(new CustomerPage(content, next), HttpStatus.OK);
+            });
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<CustomerResponse> streamAllCustomers() {
+    return customerService.streamAllCustomers().map(CustomerMapper::toResponseDto);
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<CustomerResponse>> getCustomerById(@PathVariable Long id) {
+    return customerService.getCustomerById(id)
+            .switchIfEmpty(Mono.error(new NoSuchElementException("Customer not found with ID: " + id)))
+            .map(customer -> new ResponseEntity<>(CustomerMapper.toResponseDto(customer), HttpStatus.OK));
+  }
+
+  @PostMapping("/batch-get")
+  public Mono<ResponseEntity<BatchGetResponse>> getCustomersBatch(@Valid @RequestBody BatchGetRequest batchGetRequest) {
+    return customerService.getCustomersByIdsAndDnis(batchGetRequest.getIds(), batchGetRequest.getDnis())
+            .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+  }
+
+  @PutMapping("/{id}")
+  public Mono<ResponseEntity<CustomerResponse>> updateCustomer(
+          @PathVariable Long id, @Valid @RequestBody CustomerRequest customerRequestDto) {
+    return customerService.updateCustomer(id, CustomerMapper.toEntity(customerRequestDto))
+            .map(customer -> new ResponseEntity<>(CustomerMapper.toResponseDto(customer), HttpStatus.OK));
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<Void>> deleteCustomer(@PathVariable Long id) {
+    return customerService.deleteCustomer(id)
+            .map(deleted -> new ResponseEntity<Void>(HttpStatus.NO_CONTENT));
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.customer.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource for read-only work that spreads connections over the read replicas in round-robin order.
+ * A replica that fails to hand out a connection is skipped for the retry interval and the next one is
+ * tried; when none is available the connection comes from the primary, so reads never fail because
+ * of a replica. Used as the read-only target of a LazyConnectionDataSourceProxy, see ReadReplicaConfig.
+ * The availability gauge is registered by {@link #bindTo(MeterRegistry)} once the DataSource is built.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements MeterBinder {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    /**
+     * @param primary       The DataSource used when no replica is available.
+     * @param replicas      The replicas by name, in round-robin order.
+     * @param retryInterval How long a failed replica is skipped before it is tried again.
+     * @param meterRegistry Registry for the failover counters.
+     */
+    public ReadReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, Duration retryInterval,
+                                 MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one read replica is required.");
+        }
+        this.primary = primary;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource, Counter
+                .builder("customer.datasource.replica.failures")
+                .description("Connections a read replica failed to hand out; the replica is skipped for the retry interval")
+                .tag("replica", name)
+                .register(meterRegistry))));
+        this.primaryFallbacks = Counter.builder("customer.datasource.replica.fallbacks")
+                .description("Read-only connections taken from the primary because no replica was available")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the gauge of available replicas, which holds a reference to this DataSource.
+     *
+     * @param meterRegistry Registry for the gauge.
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("customer.datasource.replicas.available", this, ReadReplicaDataSource::availableReplicas)
+                .description("Read replicas currently taking connections")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * @return The number of replicas that are not being skipped after a failure.
+     */
+    public int availableReplicas() {
+        long now = System.nanoTime();
+        return (int) replicas.stream().filter(replica -> replica.isAvailable(now)).count();
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isAvailable(System.nanoTime())) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource);
+            } catch (SQLException e) {
+                replica.downUntil = System.nanoTime() + retryIntervalNanos;
+                replica.failures.increment();
+                log.warn("Read replica {} is unavailable, skipping it for {} ms: {}", replica.name,
+                        retryIntervalNanos / 1_000_000, e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return connector.connect(primary);
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter failures;
+        private volatile long downUntil = System.nanoTime(); // Available from the start
+
+        private Replica(String name, DataSource dataSource, Counter failures) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.failures = failures;
+        }
+
+        private boolean isAvailable(long now) {
+            return now - downUntil >= 0;
+        }
+    }
+}
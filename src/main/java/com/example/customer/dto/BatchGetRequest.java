@@ -0,0 +1,20 @@
+package com.example.customer.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class BatchGetRequest {
+
+    @Size(max = 1000, message = "At most 1000 IDs can be requested at once.")
+    private List<Long> ids = new ArrayList<>();
+
+    @Size(max = 1000, message = "At most 1000 DNIs can be requested at once.")
+    private List<String> dnis = new ArrayList<>();
+
+}
@@ -0,0 +1,22 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class BatchGetResponse {
+
+    private List<CustomerResponse> found;
+    private List<Long> missingIds;
+    private List<String> missingDnis;
+
+    public BatchGetResponse(List<CustomerResponse> found, List<Long> missingIds, List<String> missingDnis) {
+        this.found = found;
+        this.missingIds = missingIds;
+        this.missingDnis = missingDnis;
+    }
+
+}
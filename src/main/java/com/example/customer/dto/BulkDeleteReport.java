@@ -0,0 +1,24 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class BulkDeleteReport {
+
+    private int total;
+    private int deleted;
+    private int rejected;
+    private List<BulkDeleteResult> results; // One per distinct ID, in request order
+
+    public BulkDeleteReport(int total, int deleted, int rejected, List<BulkDeleteResult> results) {
+        this.total = total;
+        this.deleted = deleted;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.customer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class BulkDeleteRequest {
+
+    @NotEmpty(message = "At least one ID is required.")
+    @Size(max = 10000, message = "At most 10000 customers can be deleted at once.")
+    private List<Long> ids = new ArrayList<>();
+
+}
@@ -0,0 +1,27 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BulkDeleteResult {
+
+    /**
+     * Outcome of deleting a single customer.
+     */
+    public enum Status {
+        DELETED, NOT_FOUND, HAS_ACCOUNTS, UNVERIFIED, FAILED
+    }
+
+    private Long id;
+    private Status status;
+    private String message;
+
+    public BulkDeleteResult(Long id, Status status, String message) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+}
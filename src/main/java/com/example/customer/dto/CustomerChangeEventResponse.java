@@ -0,0 +1,24 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+public class CustomerChangeEventResponse {
+
+    private Long id; // Offset of the event in the change feed
+    private String type; // CREATED, UPDATED or DELETED
+    private Instant occurredAt;
+    private CustomerResponse customer; // State after the change; for DELETED, only the ID
+
+    public CustomerChangeEventResponse(Long id, String type, Instant occurredAt, CustomerResponse customer) {
+        this.id = id;
+        this.type = type;
+        this.occurredAt = occurredAt;
+        this.customer = customer;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class CustomerChangeFeed {
+
+    private List<CustomerChangeEventResponse> events;
+    private Long next; // Offset to pass as 'since' on the next call; unchanged when there are no new events
+
+    public CustomerChangeFeed(List<CustomerChangeEventResponse> events, Long next) {
+        this.events = events;
+        this.next = next;
+    }
+
+}
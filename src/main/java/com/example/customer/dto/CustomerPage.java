@@ -0,0 +1,20 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class CustomerPage {
+
+    private List<CustomerResponse> content;
+    private String next; // Cursor for the following page, null when this is the last page
+
+    public CustomerPage(List<CustomerResponse> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+}
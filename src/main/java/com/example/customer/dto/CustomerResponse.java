@@ -1,5 +1,6 @@
 package com.example.customer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,13 +13,20 @@ public class CustomerResponse {
     private String lastName;
     private String dni;
     private String email;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version; // Also sent as the ETag; absent when the source does not track it (autocomplete)
 
     public CustomerResponse(Long id, String firstName, String lastName, String dni, String email) {
+        this(id, firstName, lastName, dni, email, null);
+    }
+
+    public CustomerResponse(Long id, String firstName, String lastName, String dni, String email, Long version) {
         this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
         this.dni = dni;
         this.email = email;
+        this.version = version;
     }
 
 }
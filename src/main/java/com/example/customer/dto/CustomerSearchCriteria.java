@@ -0,0 +1,22 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class CustomerSearchCriteria {
+
+    private String dniPrefix;
+    private String firstNamePrefix; // Case-insensitive
+    private String lastNamePrefix; // Case-insensitive
+    private String email; // Exact match
+
+    public CustomerSearchCriteria(String dniPrefix, String firstNamePrefix, String lastNamePrefix, String email) {
+        this.dniPrefix = dniPrefix;
+        this.firstNamePrefix = firstNamePrefix;
+        this.lastNamePrefix = lastNamePrefix;
+        this.email = email;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class ImportReport {
+
+    private int total;
+    private int created;
+    private int rejected;
+    private List<ImportRowResult> rows;
+
+    public ImportReport(int total, int created, int rejected, List<ImportRowResult> rows) {
+        this.total = total;
+        this.created = created;
+        this.rejected = rejected;
+        this.rows = rows;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.customer.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ImportRowResult {
+
+    /**
+     * Outcome of importing a single row.
+     */
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    private int row; // 1-based position of the row in the uploaded file
+    private Status status;
+    private Long id;
+    private String dni;
+    private String message;
+
+    public ImportRowResult(int row, Status status, Long id, String dni, String message) {
+        this.row = row;
+        this.status = status;
+        this.id = id;
+        this.dni = dni;
+        this.message = message;
+    }
+
+}
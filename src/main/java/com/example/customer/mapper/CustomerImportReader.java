@@ -0,0 +1,164 @@
+package com.example.customer.mapper;
+
+import com.example.customer.dto.CustomerRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads customer import files lazily, one row at a time, so large uploads are never held in memory.
+ * Supports a JSON array, newline-delimited JSON and CSV with a header row.
+ */
+public class CustomerImportReader {
+
+    private CustomerImportReader() {
+    }
+
+    /**
+     * Reads a JSON array or newline-delimited JSON objects.
+     *
+     * @param inputStream  The request body.
+     * @param objectMapper The mapper used to bind each object.
+     * @return An iterator over the rows; it throws {@link MalformedImportFileException} at the first row
+     * that cannot be parsed.
+     * @throws MalformedImportFileException If the file does not start with JSON.
+     */
+    public static Iterator<CustomerRequest> readJson(InputStream inputStream, ObjectMapper objectMapper) {
+        MappingIterator<CustomerRequest> rows;
+        try {
+            // readValues unwraps a root-level array and also accepts a sequence of root-level objects
+            rows = objectMapper.readerFor(CustomerRequest.class).readValues(inputStream);
+        } catch (IOException e) {
+            throw new MalformedImportFileException("Malformed JSON import file: " + e.getMessage(), e);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return rows.hasNextValue();
+                } catch (IOException e) {
+                    throw new MalformedImportFileException("Malformed JSON import file: " + e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public CustomerRequest next() {
+                try {
+                    return rows.nextValue();
+                } catch (IOException e) {
+                    throw new MalformedImportFileException("Malformed JSON import file: " + e.getMessage(), e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reads CSV with a header row naming the columns firstName, lastName, dni and email (any order).
+     *
+     * @param inputStream The request body.
+     * @return An iterator over the rows.
+     */
+    public static Iterator<CustomerRequest> readCsv(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseLine(readLine(reader));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("firstname", "lastname", "dni", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the column: " + required);
+            }
+        }
+        return new Iterator<>() {
+            private String nextLine = nextNonBlank(reader);
+
+            @Override
+            public boolean hasNext() {
+                return nextLine != null;
+            }
+
+            @Override
+            public CustomerRequest next() {
+                if (nextLine == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> values = parseLine(nextLine);
+                nextLine = nextNonBlank(reader);
+                CustomerRequest request = new CustomerRequest();
+                request.setFirstName(value(values, columns.get("firstname")));
+                request.setLastName(value(values, columns.get("lastname")));
+                request.setDni(value(values, columns.get("dni")));
+                request.setEmail(value(values, columns.get("email")));
+                return request;
+            }
+        };
+    }
+
+    private static String value(List<String> values, int index) {
+        return index < values.size() ? values.get(index).trim() : null; // Missing columns fail validation later
+    }
+
+    private static String nextNonBlank(BufferedReader reader) {
+        String line;
+        do {
+            line = readLine(reader);
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and escaped quotes ("").
+     */
+    private static List<String> parseLine(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("CSV import file is empty.");
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.customer.mapper;
 
+import com.example.customer.dto.CustomerChangeEventResponse;
 import com.example.customer.dto.CustomerRequest;
 import com.example.customer.dto.CustomerResponse;
 import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.model.CustomerRow;
+
+import java.util.Iterator;
 
 public class CustomerMapper {
 
@@ -10,8 +15,39 @@ public class CustomerMapper {
         return new Customer(dto.getFirstName(), dto.getLastName(), dto.getDni(), dto.getEmail());
     }
 
+    public static Iterator<Customer> toEntities(Iterator<CustomerRequest> dtos) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return dtos.hasNext();
+            }
+
+            @Override
+            public Customer next() {
+                return toEntity(dtos.next());
+            }
+        };
+    }
+
+    public static Customer fromRow(CustomerRow row) {
+        Customer customer = new Customer(row.getFirstName(), row.getLastName(), row.getDni(), row.getEmail());
+        customer.setId(row.getId());
+        customer.setVersion(row.getVersion());
+        return customer;
+    }
+
+    public static CustomerRow toRow(Long id, Customer customer) {
+        return new CustomerRow(id, customer.getFirstName(), customer.getLastName(), customer.getDni(), customer.getEmail());
+    }
+
     public static CustomerResponse toResponseDto(Customer customer) {
         return new CustomerResponse(customer.getId(), customer.getFirstName(), customer.getLastName(),
-                customer.getDni(), customer.getEmail());
+                customer.getDni(), customer.getEmail(), customer.getVersion());
+    }
+
+    public static CustomerChangeEventResponse toChangeEventDto(CustomerChangeEvent event) {
+        CustomerResponse customer = new CustomerResponse(event.getCustomerId(), event.getFirstName(), event.getLastName(),
+                event.getDni(), event.getEmail());
+        return new CustomerChangeEventResponse(event.getId(), event.getType().name(), event.getOccurredAt(), customer);
     }
 }
@@ -0,0 +1,12 @@
+package com.example.customer.mapper;
+
+/**
+ * Thrown when an import file cannot be parsed. Rows read before the malformed one are still valid;
+ * the file cannot be read past it.
+ */
+public class MalformedImportFileException extends IllegalArgumentException {
+
+    public MalformedImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
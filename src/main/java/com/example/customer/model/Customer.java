@@ -7,23 +7,57 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Objects;
 
 /**
  * Represents a customer entity with personal details.
+ * Held in the second-level cache by ID and by DNI, see EntityCacheConfig.
  */
 @Entity
 @Getter
 @Setter
 @ToString
-@Table(name = "customers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Customer.CACHE_REGION)
+@NaturalIdCache(region = Customer.DNI_CACHE_REGION)
+@Table(name = "customers", uniqueConstraints = {
+    // Named so a duplicate DNI can be told apart from other unique violations, see ConstraintViolations
+    @UniqueConstraint(name = Customer.DNI_CONSTRAINT, columnNames = "dni")
+}, indexes = {
+    // Back the search API, which filters and sorts by (column, id); dni already has its unique index.
+    // Name prefixes rely on the table's case-insensitive collation (MySQL default), so LIKE 'prefix%'
+    // is answered with a range scan of these indexes
+    @Index(name = "idx_customers_last_name_id", columnList = "last_name, id"),
+    @Index(name = "idx_customers_first_name_id", columnList = "first_name, id"),
+    @Index(name = "idx_customers_email_id", columnList = "email, id")
+})
 public class Customer {
 
+  public static final String CACHE_REGION = "customers";
+  public static final String DNI_CACHE_REGION = "customers-by-dni";
+  public static final String DNI_CONSTRAINT = "uk_customers_dni";
+
+  /**
+   * Pooled sequence (emulated with a table on MySQL) so Hibernate can batch inserts;
+   * IDENTITY would force one round trip per insert.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+  @SequenceGenerator(name = "customer_seq", sequenceName = "customers_seq", allocationSize = 50)
   private Long id;
 
+  /**
+   * Incremented on every update; updates check it so concurrent writers cannot overwrite each other,
+   * and it is exposed as the ETag of the customer.
+   */
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   @NotBlank(message = "First name is required.")
   @Column(name = "first_name", nullable = false)
   private String firstName;
@@ -34,7 +68,8 @@ public class Customer {
 
   @NotBlank(message = "DNI is required.")
   @Pattern(regexp = "\\d+", message = "DNI must contain only numbers.")
-  @Column(name = "dni", nullable = false, unique = true)
+  @NaturalId(mutable = true) // Customers may correct their DNI; Hibernate then updates the DNI cache
+  @Column(name = "dni", nullable = false)
   private String dni;
 
   @NotBlank(message = "Email is required.")
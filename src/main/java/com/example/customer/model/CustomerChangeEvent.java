@@ -0,0 +1,101 @@
+package com.example.customer.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Outbox row recording one change to a customer, written in the same transaction as the change.
+ * Holds the customer as it was after the change, so consumers never have to call back; deletes
+ * carry only the customer ID.
+ *
+ * The ID is the offset of the change feed. It comes from an identity column, a single counter in the database
+ * shared by every instance, and is assigned when the event is inserted, after the customer row was written
+ * and locked: two changes to the same customer get their IDs in commit order. Changes to different
+ * customers may commit out of ID order only while their transactions are in flight, which the change feed
+ * waits out by stopping at gaps in the IDs. A pooled sequence would not do: each instance would hand out IDs from its own block.
+ */
+@Entity
+@Getter
+@Setter
+@ToString
+@Table(name = "customer_outbox", indexes = {
+    // The relay reads unpublished events in ID order
+    @Index(name = "idx_customer_outbox_published_at_id", columnList = "published_at, id")
+})
+public class CustomerChangeEvent {
+
+  /**
+   * Kind of change.
+   */
+  public enum Type {
+    CREATED, UPDATED, DELETED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type", nullable = false, length = 16)
+  private Type type;
+
+  @Column(name = "customer_id", nullable = false)
+  private Long customerId;
+
+  @Column(name = "first_name")
+  private String firstName; // Customer details are null for deletes
+
+  @Column(name = "last_name")
+  private String lastName;
+
+  @Column(name = "dni")
+  private String dni;
+
+  @Column(name = "email")
+  private String email;
+
+  @Column(name = "occurred_at", nullable = false)
+  private Instant occurredAt;
+
+  @Column(name = "published_at")
+  private Instant publishedAt; // Null until the relay hands the event to the sink
+
+  /**
+   * Default constructor required by JPA.
+   */
+  public CustomerChangeEvent() {
+  }
+
+  /**
+   * Creates an event capturing the current state of the customer.
+   *
+   * @param type       The kind of change.
+   * @param customer   The customer after the change.
+   * @param occurredAt When the change was made.
+   */
+  public CustomerChangeEvent(Type type, Customer customer, Instant occurredAt) {
+    this.type = type;
+    this.customerId = customer.getId();
+    this.firstName = customer.getFirstName();
+    this.lastName = customer.getLastName();
+    this.dni = customer.getDni();
+    this.email = customer.getEmail();
+    this.occurredAt = occurredAt;
+  }
+
+  /**
+   * Creates a deletion event, which carries only the ID of the deleted customer.
+   *
+   * @param customerId The ID of the deleted customer.
+   * @param occurredAt When the customer was deleted.
+   */
+  public CustomerChangeEvent(Long customerId, Instant occurredAt) {
+    this.type = Type.DELETED;
+    this.customerId = customerId;
+    this.occurredAt = occurredAt;
+  }
+}
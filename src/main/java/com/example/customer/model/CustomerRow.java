@@ -0,0 +1,47 @@
+package com.example.customer.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the customers table, used by the reactive stack.
+ * Kept separate from the JPA {@link Customer} entity so each Spring Data module only claims its own repositories.
+ */
+@Getter
+@Setter
+@ToString
+@Table("customers")
+public class CustomerRow {
+
+  @Id
+  private Long id;
+
+  private String firstName;
+
+  private String lastName;
+
+  private String dni;
+
+  private String email;
+
+  @Version
+  private Long version; // Shared with the JPA entity; checked and incremented on update
+
+  /**
+   * Default constructor required by Spring Data.
+   */
+  public CustomerRow() {
+  }
+
+  public CustomerRow(Long id, String firstName, String lastName, String dni, String email) {
+    this.id = id;
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.dni = dni;
+    this.email = email;
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+
+import java.util.List;
+
+/**
+ * Destination of the customer change events relayed from the outbox.
+ * Delivery is at least once: a batch is sent again if the relay stops before marking it published,
+ * so consumers must tolerate duplicates (the event ID identifies them).
+ */
+public interface CustomerChangeSink {
+
+    /**
+     * Publishes a batch of events, in ID order.
+     *
+     * @param events The events to publish.
+     * @throws RuntimeException If the batch could not be delivered; the relay retries it later.
+     */
+    void publish(List<CustomerChangeEventResponse> events);
+}
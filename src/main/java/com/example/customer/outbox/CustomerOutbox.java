@@ -0,0 +1,136 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import com.example.customer.dto.CustomerChangeFeed;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Transactional outbox for customer changes. Writers record an event in the same transaction as the
+ * change itself, so an event exists if and only if the change committed. The events are published by
+ * {@link CustomerOutboxRelay} and can also be read as a feed from an offset.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerOutbox {
+
+    private final CustomerChangeEventRepository changeEventRepository;
+    private final long feedDelayNanos;
+    private final LongSupplier nanoClock;
+    // When this instance first saw each event that follows a gap in the IDs; a gap is older than that
+    private final Cache<Long, Long> gapsFirstSeen = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    @Autowired
+    public CustomerOutbox(CustomerChangeEventRepository changeEventRepository,
+                          @Value("${customer.outbox.feed-delay:2s}") Duration feedDelay) {
+        this(changeEventRepository, feedDelay, System::nanoTime);
+    }
+
+    /**
+     * Creates an outbox with an explicit clock for the feed delay, mainly for tests.
+     */
+    public CustomerOutbox(CustomerChangeEventRepository changeEventRepository, Duration feedDelay, LongSupplier nanoClock) {
+        this.changeEventRepository = changeEventRepository;
+        this.feedDelayNanos = feedDelay.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records a change to one customer. Must run inside the transaction that makes the change.
+     *
+     * @param type     The kind of change.
+     * @param customer The customer after the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CustomerChangeEvent.Type type, Customer customer) {
+        changeEventRepository.save(new CustomerChangeEvent(type, customer, Instant.now()));
+    }
+
+    /**
+     * Records the deletion of a customer. Must run inside the transaction that deletes it.
+     *
+     * @param customerId The ID of the deleted customer.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long customerId) {
+        changeEventRepository.save(new CustomerChangeEvent(customerId, Instant.now()));
+    }
+
+    /**
+     * Records the deletion of many customers in one statement.
+     * Must run inside the transaction that deletes them, before the rows are deleted.
+     *
+     * @param customerIds The IDs of the customers to delete.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletions(Collection<Long> customerIds) {
+        changeEventRepository.insertDeletions(customerIds, Instant.now());
+    }
+
+    /**
+     * Records the same kind of change to many customers in one statement, reading their details from the
+     * customers table. Must run inside the transaction that makes the changes; pending inserts of the
+     * customers are flushed first.
+     *
+     * @param type      The kind of change.
+     * @param customers The customers after the change.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(CustomerChangeEvent.Type type, List<Customer> customers) {
+        changeEventRepository.insertForCustomers(type, customers.stream().map(Customer::getId).toList(), Instant.now());
+    }
+
+    /**
+     * Reads the events after the given offset, stopping at the first gap in the IDs.
+     * IDs are assigned at insert, before commit, so a missing ID may belong to a transaction still in flight on
+     * any instance, which would commit it after a reader has moved past. A gap is only skipped once this instance
+     * has seen the event after it for the feed delay; a rolled-back transaction leaves a gap that costs one such
+     * wait. Only this instance's clock is involved, so clock skew between instances and the time a writer took
+     * to commit do not matter. An event is still lost if its transaction commits more than the feed delay after
+     * a reader first saw a higher ID.
+     *
+     * @param since The offset returned by the previous read, or 0 to start from the oldest retained event.
+     * @param limit The maximum number of events to return.
+     * @return The events and the offset of the next read.
+     */
+    @Transactional // Not read-only, so it reads the primary: a replica would show gaps the primary has filled
+    public CustomerChangeFeed readChanges(long since, int limit) {
+        List<CustomerChangeEventResponse> events = new ArrayList<>();
+        long next = since;
+        for (CustomerChangeEvent event : changeEventRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(limit))) {
+            if (event.getId() != next + 1 && !gapWaitedOut(event.getId())) {
+                break;
+            }
+            events.add(CustomerMapper.toChangeEventDto(event));
+            next = event.getId();
+        }
+        return new CustomerChangeFeed(events, next);
+    }
+
+    private boolean gapWaitedOut(long idAfterGap) {
+        long now = nanoClock.getAsLong();
+        long firstSeen = gapsFirstSeen.get(idAfterGap, id -> now);
+        return now - firstSeen >= feedDelayNanos;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the outbox events to the configured {@link CustomerChangeSink} in ID-ordered batches.
+ * A batch is marked published only after the sink accepted it, so delivery is at least once; on a
+ * sink failure the batch stays pending and is retried on the next poll. Published events are purged
+ * once older than the retention, which also bounds how far back the change feed reaches.
+ *
+ * Run the relay on one instance only, or consumers receive each event once per instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "customer.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerOutboxRelay implements SmartLifecycle {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final CustomerChangeEventRepository changeEventRepository;
+    private final CustomerChangeSink sink;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService relayExecutor; // Created on start, null while stopped
+
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final Timer publishTimer;
+    private volatile Instant oldestPending; // Occurrence time of the oldest unpublished event at the last poll
+    private Instant nextPurge = Instant.now(); // Only touched by the relay thread
+
+    public CustomerOutboxRelay(CustomerChangeEventRepository changeEventRepository, CustomerChangeSink sink,
+                               TransactionOperations transactionOperations, MeterRegistry meterRegistry,
+                               @Value("${customer.outbox.relay.batch-size:500}") int batchSize,
+                               @Value("${customer.outbox.relay.poll-interval:500ms}") Duration pollInterval,
+                               @Value("${customer.outbox.retention:7d}") Duration retention) {
+        this.changeEventRepository = changeEventRepository;
+        this.sink = sink;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.meterRegistry = meterRegistry;
+        this.publishedEvents = Counter.builder("customer.outbox.published")
+                .description("Customer change events handed to the sink")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("customer.outbox.failures")
+                .description("Batches of customer change events the sink rejected")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("customer.outbox.publish")
+                .description("Latency of publishing one batch to the sink")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the lag gauge once the relay is constructed, as it holds a reference to it.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("customer.outbox.lag", this, relay -> {
+                    Instant oldest = relay.oldestPending;
+                    return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+                })
+                .description("Age of the oldest unpublished customer change event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts polling the outbox with the application context.
+     */
+    @Override
+    public synchronized void start() {
+        if (relayExecutor != null) {
+            return;
+        }
+        relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        relayExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                relay();
+            } catch (RuntimeException e) {
+                log.warn("Could not relay customer change events; retrying in {}", pollInterval, e);
+            }
+        }, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publishes pending events until the outbox is drained or the sink fails, then purges old events.
+     *
+     * @return The number of events published.
+     */
+    public int relay() {
+        int published = 0;
+        List<CustomerChangeEvent> batch;
+        do {
+            batch = changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            oldestPending = batch.get(0).getOccurredAt();
+            List<CustomerChangeEventResponse> events = batch.stream().map(CustomerMapper::toChangeEventDto).toList();
+            try {
+                publishTimer.record(() -> sink.publish(events));
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                throw e;
+            }
+            List<Long> ids = events.stream().map(CustomerChangeEventResponse::getId).toList();
+            transactionOperations.executeWithoutResult(status -> changeEventRepository.markPublished(ids, Instant.now()));
+            publishedEvents.increment(events.size());
+            published += events.size();
+        } while (batch.size() == batchSize);
+        oldestPending = null;
+        purgeIfDue();
+        return published;
+    }
+
+    /**
+     * Stops polling before the repository and the sink are shut down. A batch being published is
+     * interrupted and stays pending, to be published again on the next start.
+     */
+    @Override
+    public synchronized void stop() {
+        if (relayExecutor != null) {
+            relayExecutor.shutdownNow();
+            relayExecutor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return relayExecutor != null;
+    }
+
+    private void purgeIfDue() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plus(PURGE_INTERVAL);
+        Integer purged = transactionOperations.execute(
+                status -> changeEventRepository.deletePublishedBefore(now.minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} customer change events older than {}", purged, retention);
+        }
+    }
+}
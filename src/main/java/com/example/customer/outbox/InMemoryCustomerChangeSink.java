@@ -0,0 +1,37 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the published events in memory, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "memory")
+public class InMemoryCustomerChangeSink implements CustomerChangeSink {
+
+    private final List<CustomerChangeEventResponse> events = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<CustomerChangeEventResponse> batch) {
+        events.addAll(batch);
+    }
+
+    /**
+     * @return A copy of the events published so far, in publication order.
+     */
+    public synchronized List<CustomerChangeEventResponse> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Forgets the events published so far.
+     */
+    public synchronized void clear() {
+        events.clear();
+    }
+}
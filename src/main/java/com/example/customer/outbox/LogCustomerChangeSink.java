@@ -0,0 +1,43 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes each event as one JSON line to the "customer.changes" logger.
+ * Route that logger to its own file (logging.file / a logback appender) to get an NDJSON change log.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogCustomerChangeSink implements CustomerChangeSink {
+
+    private static final Logger CHANGES = LoggerFactory.getLogger("customer.changes");
+
+    private final ObjectMapper objectMapper;
+
+    public LogCustomerChangeSink(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<CustomerChangeEventResponse> events) {
+        if (!CHANGES.isInfoEnabled()) {
+            return;
+        }
+        for (CustomerChangeEventResponse event : events) {
+            try {
+                CHANGES.info(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
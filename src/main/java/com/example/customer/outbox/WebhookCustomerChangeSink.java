@@ -0,0 +1,40 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch of events as a JSON array to a webhook URL.
+ * Any non-2xx answer or timeout fails the batch, which the relay then retries.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "webhook")
+public class WebhookCustomerChangeSink implements CustomerChangeSink {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public WebhookCustomerChangeSink(WebClient.Builder builder,
+                                     @Value("${customer.outbox.webhook.url}") String url,
+                                     @Value("${customer.outbox.webhook.timeout:5s}") Duration timeout) {
+        this.webClient = builder.baseUrl(url).build(); // Own client; the shared one targets the bank accounts service
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void publish(List<CustomerChangeEventResponse> events) {
+        webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(events)
+                .retrieve()
+                .toBodilessEntity()
+                .block(timeout); // The relay runs on its own thread, so blocking here is fine
+    }
+}
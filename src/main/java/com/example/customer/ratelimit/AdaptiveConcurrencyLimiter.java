@@ -0,0 +1,104 @@
+package com.example.customer.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Lock-free limit on the requests in flight that adapts to their latency (additive increase,
+ * multiplicative decrease). A request slower than the latency threshold means the database is
+ * queueing, so the limit shrinks by the backoff ratio; fast requests while the limit is in use grow it
+ * back by about one per round of requests. Requests over the limit are rejected at once instead of
+ * waiting for a pool connection.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits; // The limit as a double, so additive increases can be fractional
+
+    /**
+     * @param initialLimit     Requests allowed in flight at startup.
+     * @param minLimit         Floor the limit never shrinks below.
+     * @param maxLimit         Ceiling the limit never grows above.
+     * @param latencyThreshold Latency above which a request shrinks the limit.
+     * @param backoffRatio     Factor applied to the limit on a slow request, between 0 and 1.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max.");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /**
+     * Asks to start a request. Every successful call must be followed by {@link #onComplete(long)} or
+     * {@link #release()}.
+     *
+     * @return True if the request may proceed; false if the limit is reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records a finished request and adapts the limit to its latency.
+     *
+     * @param latencyNanos How long the request took.
+     */
+    public void onComplete(long latencyNanos) {
+        int wasInFlight = inFlight.getAndDecrement();
+        if (latencyNanos > latencyThresholdNanos) {
+            updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+        } else if (wasInFlight * 2 >= getLimit()) { // Only grow a limit that is actually used
+            updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    /**
+     * Records a finished request without adapting the limit, for requests whose duration says nothing
+     * about load, such as streams that last as long as the client reads.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return The requests currently allowed in flight.
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * @return The requests currently in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(update.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
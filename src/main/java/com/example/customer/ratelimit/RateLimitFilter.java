@@ -0,0 +1,224 @@
+package com.example.customer.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for the customer API, checked before any work is done for a request:
+ * <ol>
+ *   <li>a token bucket per endpoint, shared by all clients;</li>
+ *   <li>an {@link AdaptiveConcurrencyLimiter} over all requests, which sheds load while requests are
+ *       slowing down, before the database connection pool is exhausted;</li>
+ *   <li>a token bucket per client and endpoint, so one caller cannot take an endpoint's whole budget.</li>
+ * </ol>
+ * Bulk import and delete hold a concurrency slot like any request, but are slow by design, so their duration
+ * does not shrink the limit.
+ * The client is charged last, so requests turned away by the shared checks do not use up its budget; a
+ * request the client's bucket turns away gives back its endpoint token and concurrency slot.
+ * Rate-limited requests get 429 and overload gets 503, both with Retry-After and the error body of the
+ * exception handlers. Clients are told apart by the authenticated principal, else by remote address. The
+ * client ID header is only believed from trusted proxies, since any caller can send a new value with
+ * each request to get a fresh bucket.
+ * Every decision is counted in the "customer.rate-limit.decisions" metric, tagged by endpoint and decision.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/api/customers";
+    // Fixed paths under BASE_PATH; any other segment is a customer ID, so endpoints stay a small set
+    private static final Set<String> FIXED_PATHS = Set.of("bulk", "search", "autocomplete", "changes", "batch-get", "bulk-delete");
+    private static final Set<String> METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+    // Slow by design, so their duration says nothing about load and is not fed to the concurrency limit
+    private static final Set<String> BULK_ENDPOINTS = Set.of("POST " + BASE_PATH + "/bulk", "POST " + BASE_PATH + "/bulk-delete");
+    private static final long OVERLOAD_RETRY_AFTER_SECONDS = 1;
+
+    private final Supplier<TokenBucket> clientBuckets;
+    private final Supplier<TokenBucket> endpointBuckets;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientIdHeader;
+    private final Set<String> trustedProxies;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, TokenBucket> bucketsByClient;
+    private final Map<String, TokenBucket> bucketsByEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, Counter> decisionCounters = new ConcurrentHashMap<>(); // By endpoint and decision
+
+    /**
+     * @param clientBuckets      Creates the bucket of a client on one endpoint.
+     * @param endpointBuckets    Creates the bucket of an endpoint.
+     * @param concurrencyLimiter Limit on the requests in flight.
+     * @param clientIdHeader     Request header identifying the client, set by a trusted proxy.
+     * @param trustedProxies     Remote addresses whose client ID header is believed.
+     * @param maximumClients     Client buckets kept; the least recently used are dropped beyond it.
+     * @param meterRegistry      Registry for the decision counts.
+     * @param objectMapper       Writes the error bodies.
+     */
+    public RateLimitFilter(Supplier<TokenBucket> clientBuckets, Supplier<TokenBucket> endpointBuckets,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter, String clientIdHeader, Set<String> trustedProxies,
+                           long maximumClients, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.clientBuckets = clientBuckets;
+        this.endpointBuckets = endpointBuckets;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientIdHeader = clientIdHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        // An idle client's bucket refills completely within a minute at any sensible rate, so dropping it loses nothing
+        this.bucketsByClient = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !path.equals(BASE_PATH) && !path.startsWith(BASE_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = endpoint(request);
+        TokenBucket endpointBucket = bucketsByEndpoint.computeIfAbsent(endpoint, key -> endpointBuckets.get());
+        long wait = endpointBucket.tryAcquire();
+        if (wait > 0) {
+            reject(response, endpoint, "endpoint-limited", HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(wait),
+                    "Too many requests to this endpoint; retry later.");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            endpointBucket.refund();
+            reject(response, endpoint, "shed", HttpStatus.SERVICE_UNAVAILABLE, OVERLOAD_RETRY_AFTER_SECONDS,
+                    "The service is overloaded; retry later.");
+            return;
+        }
+        wait = bucketsByClient.get(clientId(request) + " " + endpoint, key -> clientBuckets.get()).tryAcquire();
+        if (wait > 0) {
+            concurrencyLimiter.release();
+            endpointBucket.refund();
+            reject(response, endpoint, "client-limited", HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(wait),
+                    "Too many requests from this client; retry later.");
+            return;
+        }
+        decisions(endpoint, "allowed").increment();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streams hold their slot until they complete, but last as long as the client reads, so their
+                // duration is not fed to the limit
+                request.getAsyncContext().addListener(new CompletionListener());
+            } else if (BULK_ENDPOINTS.contains(endpoint)) {
+                concurrencyLimiter.release();
+            } else {
+                concurrencyLimiter.onComplete(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String decision, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        decisions(endpoint, decision).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message, "status", String.valueOf(status.value())));
+    }
+
+    private Counter decisions(String endpoint, String decision) {
+        return decisionCounters.computeIfAbsent(endpoint + " " + decision, key -> Counter.builder("customer.rate-limit.decisions")
+                .description("Admission decisions for customer API requests")
+                .tag("endpoint", endpoint)
+                .tag("decision", decision)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Names the client of a request. The kinds are prefixed so a header value cannot pass for a principal
+     * or an address.
+     */
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddress)) {
+            String clientId = request.getHeader(clientIdHeader);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId;
+            }
+        }
+        return "address:" + remoteAddress;
+    }
+
+    /**
+     * Names the endpoint of a request as its method and path template, such as "GET /api/customers/{id}".
+     */
+    static String endpoint(HttpServletRequest request) {
+        String method = METHODS.contains(request.getMethod()) ? request.getMethod() : "OTHER";
+        String rest = path(request).substring(BASE_PATH.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return method + " " + BASE_PATH;
+        }
+        String segment = rest.substring(1);
+        return method + " " + BASE_PATH + "/" + (FIXED_PATHS.contains(segment) ? segment : "{id}");
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Gives the concurrency slot of an asynchronous request back once it ends; the container calls
+     * onComplete after a timeout or error too.
+     */
+    private final class CompletionListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrencyLimiter.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // Still listening if the request goes async again
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.customer.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket. It holds up to a burst of tokens and refills at a steady rate, one token
+ * every refill interval. The whole state is a single timestamp: the moment the bucket will be full
+ * again. Taking a token moves that moment one interval forward with a compare-and-set (the GCRA form
+ * of the token bucket).
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond Steady refill rate.
+     * @param burst           Tokens the bucket holds when full, so the requests allowed at once.
+     */
+    public TokenBucket(double tokensPerSecond, int burst) {
+        this(tokensPerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * Creates a bucket with an explicit clock, mainly for tests.
+     */
+    public TokenBucket(double tokensPerSecond, int burst, LongSupplier nanoClock) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive.");
+        }
+        this.intervalNanos = Math.max(1, (long) (Duration.ofSeconds(1).toNanos() / tokensPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong()); // Starts full
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 if a token was taken; otherwise the nanoseconds until the next token, with nothing taken.
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire()} for a request that was then turned away. A bucket
+     * that has refilled meanwhile stays at its burst: a moment in the past already means full.
+     */
+    public void refund() {
+        fullAt.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * @return The whole tokens left now.
+     */
+    public long availableTokens() {
+        long now = nanoClock.getAsLong();
+        return (burstNanos - Math.max(0, fullAt.get() - now)) / intervalNanos;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.CustomerChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CustomerChangeEventRepository gives access to the customer outbox table.
+ *
+ * Functionalities provided:
+ * - Record the changes to many customers with one INSERT ... SELECT.
+ * - Read the change feed from an offset (keyset on the event ID).
+ * - Read and mark the events still to be published by the relay.
+ * - Purge published events past their retention.
+ */
+@Repository
+public interface CustomerChangeEventRepository extends JpaRepository<CustomerChangeEvent, Long> {
+
+    /**
+     * Records one event per customer, copying the customer details from the customers table in a single
+     * INSERT ... SELECT. Identity IDs rule out JDBC batching, so this keeps bulk writes at one statement.
+     *
+     * @param type        The kind of change.
+     * @param customerIds The IDs of the changed customers; they must still exist.
+     * @param occurredAt  When the changes were made.
+     * @return The number of events recorded.
+     */
+    @Modifying
+    @Query("insert into CustomerChangeEvent (type, customerId, firstName, lastName, dni, email, occurredAt) "
+            + "select :type, c.id, c.firstName, c.lastName, c.dni, c.email, :occurredAt from Customer c where c.id in :customerIds")
+    int insertForCustomers(@Param("type") CustomerChangeEvent.Type type, @Param("customerIds") Collection<Long> customerIds,
+                           @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Records one deletion event per customer in a single INSERT ... SELECT.
+     *
+     * @param customerIds The IDs of the customers about to be deleted; missing ones get no event.
+     * @param occurredAt  When the customers were deleted.
+     * @return The number of events recorded.
+     */
+    @Modifying
+    @Query("insert into CustomerChangeEvent (type, customerId, occurredAt) "
+            + "select com.example.customer.model.CustomerChangeEvent.Type.DELETED, c.id, :occurredAt "
+            + "from Customer c where c.id in :customerIds")
+    int insertDeletions(@Param("customerIds") Collection<Long> customerIds, @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Retrieves the next events after the given offset.
+     *
+     * @param afterId The ID of the last event already read; use 0 to start from the beginning.
+     * @param limit   The maximum number of events to return.
+     * @return The events in ascending ID order.
+     */
+    List<CustomerChangeEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Retrieves the oldest events not yet handed to the sink.
+     *
+     * @param limit The maximum number of events to return.
+     * @return The unpublished events in ascending ID order.
+     */
+    List<CustomerChangeEvent> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Marks events as published in a single UPDATE.
+     *
+     * @param ids         The IDs of the published events.
+     * @param publishedAt When they were published.
+     * @return The number of events updated.
+     */
+    @Modifying
+    @Query("update CustomerChangeEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * Deletes published events older than the given instant in a single DELETE.
+     *
+     * @param before Events published before this instant are deleted.
+     * @return The number of events deleted.
+     */
+    @Modifying
+    @Query("delete from CustomerChangeEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,22 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.Customer;
+
+import java.util.Optional;
+
+/**
+ * Reads of customers by DNI, their natural ID, which go through Hibernate's natural-ID cache
+ * instead of a query when the second-level cache is enabled.
+ */
+public interface CustomerNaturalIdRepository {
+
+    /**
+     * Retrieves a customer by their DNI. A DNI of a cached customer is answered from the cache without SQL;
+     * an unknown DNI is always looked up in the database. The cache of this instance may lag behind a write
+     * made on another instance, so uniqueness checks use {@link CustomerRepository#existsByDni} instead.
+     *
+     * @param dni The DNI of the customer.
+     * @return The customer, or empty if there is none with that DNI.
+     */
+    Optional<Customer> findByDni(String dni);
+}
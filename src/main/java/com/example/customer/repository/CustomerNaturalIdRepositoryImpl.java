@@ -0,0 +1,47 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import java.util.Optional;
+
+/**
+ * Natural-ID lookups through the Hibernate session. Outside a transaction a short-lived session is
+ * used, as the shared EntityManager cannot hand out its session there.
+ */
+class CustomerNaturalIdRepositoryImpl implements CustomerNaturalIdRepository {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    CustomerNaturalIdRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<Customer> findByDni(String dni) {
+        EntityManager transactionalEntityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (transactionalEntityManager != null) {
+            return findByDni(transactionalEntityManager, dni);
+        }
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return findByDni(entityManager, dni);
+        }
+    }
+
+    private static Optional<Customer> findByDni(EntityManager entityManager, String dni) {
+        Optional<Customer> customer = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Customer.class)
+                .loadOptional(dni);
+        if (customer.isEmpty() || customer.get().getDni().equals(dni)) {
+            return customer;
+        }
+        // A DNI cache entry left behind by a DNI change made elsewhere; the DNI may be someone else's now
+        return entityManager.createQuery("select c from Customer c where c.dni = :dni", Customer.class)
+                .setParameter("dni", dni)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.customer.repository;
 
+import com.example.customer.dto.CustomerResponse;
 import com.example.customer.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * CustomerRepository is the interface for CRUD operations on Customer entities.
  * This repository extends JpaRepository to provide methods to perform database
@@ -12,16 +27,172 @@ import org.springframework.stereotype.Repository;
  * Functionalities provided:
  * - Create, read, update, and delete (CRUD) customers.
  * - Ensure the uniqueness of the customer's DNI.
+ * - Keyset pagination and streaming over the customers table.
+ * - Read-only projections straight into CustomerResponse, without managed entities.
+ * - Single-statement updates and deletes by ID.
+ * - Indexed search by DNI prefix, name prefix and email.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>,
+        CustomerNaturalIdRepository {
+
+    /**
+     * Selects the columns of a CustomerResponse with a constructor expression: Hibernate builds the DTOs from
+     * the result set directly, so no entity is hydrated, no dirty-checking snapshot is kept and nothing
+     * stays in the persistence context.
+     */
+    String SELECT_RESPONSE = "select new com.example.customer.dto.CustomerResponse("
+            + "c.id, c.firstName, c.lastName, c.dni, c.email, c.version) from Customer c";
+
+    /**
+     * Query space of native writes that name the customers they change by ID. It matches no entity table,
+     * so Hibernate does not clear the customer cache regions after such a write; the caller evicts the
+     * customers it changed.
+     */
+    String BY_ID_WRITE_SPACE = "customers_by_id";
 
     /**
      * Checks the existence of a customer by their DNI.
-     * This method can be used to enforce unique DNI constraints.
+     * This method can be used to enforce unique DNI constraints. It always queries the database, which
+     * sees DNIs changed on any instance; the natural-ID cache of {@link #findByDni} may not yet.
      *
      * @param dni The DNI of the customer to check.
      * @return True if a customer with the specified DNI exists, false otherwise.
      */
     boolean existsByDni(String dni);
+
+    /**
+     * Retrieves a customer by ID as a response DTO.
+     *
+     * @param id The ID of the customer.
+     * @return The customer, or empty if there is none with that ID.
+     */
+    @Query(SELECT_RESPONSE + " where c.id = :id")
+    Optional<CustomerResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Retrieves the next page of customers after the given ID as response DTOs (keyset pagination).
+     * Uses the primary key index, so the cost does not grow with the page position.
+     *
+     * @param afterId The last ID seen by the client; use 0 to start from the beginning.
+     * @param limit   The maximum number of customers to return.
+     * @return The customers whose ID is greater than afterId, in ascending ID order.
+     */
+    @Query(SELECT_RESPONSE + " where c.id > :afterId order by c.id")
+    List<CustomerResponse> findResponsesByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Updates a customer's details and increments its version in a single UPDATE, without reading it first.
+     * A DNI that belongs to another customer fails on the unique index of the dni column.
+     * Leaves the second-level cache untouched, see {@link #BY_ID_WRITE_SPACE}.
+     *
+     * @param id        The ID of the customer to update.
+     * @param firstName The new first name.
+     * @param lastName  The new last name.
+     * @param dni       The new DNI.
+     * @param email     The new email.
+     * @param version   The version the customer must be at, or null to update whatever version it is at.
+     * @return 1 if the customer was updated; 0 if it does not exist or is at another version.
+     */
+    @Modifying
+    @Query(value = "update customers set first_name = :firstName, last_name = :lastName, dni = :dni, email = :email,"
+            + " version = version + 1 where id = :id and (:version is null or version = :version)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BY_ID_WRITE_SPACE))
+    int updateCustomerById(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                           @Param("dni") String dni, @Param("email") String email, @Param("version") Long version);
+
+    /**
+     * Deletes a customer by ID in a single statement, without reading it first.
+     * Leaves the second-level cache untouched, see {@link #BY_ID_WRITE_SPACE}.
+     *
+     * @param id The ID of the customer to delete.
+     * @return The number of rows deleted: 1, or 0 if there is no customer with that ID.
+     */
+    @Modifying
+    @Query(value = "delete from customers where id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BY_ID_WRITE_SPACE))
+    int deleteCustomerById(@Param("id") Long id);
+
+    /**
+     * Deletes the customers with the given IDs in a single DELETE ... WHERE id IN.
+     * Unlike deleteAllByIdInBatch, leaves the second-level cache untouched, see {@link #BY_ID_WRITE_SPACE}.
+     *
+     * @param ids The IDs of the customers to delete.
+     * @return The number of rows deleted.
+     */
+    @Modifying
+    @Query(value = "delete from customers where id in (:ids)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BY_ID_WRITE_SPACE))
+    int deleteCustomersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns which of the given DNIs already belong to a customer, in a single IN query.
+     *
+     * @param dnis The DNIs to check.
+     * @return The subset of the given DNIs that already exist.
+     */
+    @Query("select c.dni from Customer c where c.dni in :dnis")
+    List<String> findExistingDnis(@Param("dnis") Collection<String> dnis);
+
+    /**
+     * Returns which of the given IDs belong to a customer, in a single IN query on the primary key.
+     *
+     * @param ids The IDs to check.
+     * @return The subset of the given IDs that exist.
+     */
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the customers with any of the given DNIs, in a single IN query.
+     *
+     * @param dnis The DNIs to look up.
+     * @return The customers found; DNIs without a customer are simply absent.
+     */
+    List<Customer> findAllByDniIn(Collection<String> dnis);
+
+    /**
+     * Retrieves the first customers matching the given search predicates in the given order.
+     * Combine with {@link CustomerSearchOrder#after(String, Long)} for keyset pagination.
+     *
+     * @param specification The search predicates, see {@link CustomerSpecifications}.
+     * @param order         The order of the results, see {@link CustomerSearchOrder}.
+     * @param limit         The maximum number of customers to return.
+     * @return The matching customers; no count query is issued.
+     */
+    default List<Customer> findFirstMatching(Specification<Customer> specification, CustomerSearchOrder order, int limit) {
+        return findBy(specification, query -> query.sortBy(order.sort()).limit(limit).all());
+    }
+
+    /**
+     * Streams all customers ordered by ID.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream over all customers.
+     */
+    @Query("select c from Customer c order by c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Customer> streamAllByOrderByIdAsc();
+
+    /**
+     * Retrieves the next page of DNIs after the given ID, without loading full entities.
+     * Used to (re)build the in-memory DNI filter in short, independent queries.
+     *
+     * @param afterId The last ID already read; use 0 to start from the beginning.
+     * @param limit   The maximum number of rows to return.
+     * @return The ID and DNI of each customer, in ascending ID order.
+     */
+    List<DniView> findDnisByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Projection holding only the columns needed to index DNIs.
+     */
+    interface DniView {
+        Long getId();
+
+        String getDni();
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.Customer;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Sort order of a customer search, named after the indexed column that drives it.
+ * Results are sorted by (column, id), the order of the column's index, so the database reads the
+ * matching index range in order and stops after one page. Sorting by ID alone would make the
+ * optimizer walk the primary key and filter, which on a large table means scanning most of it.
+ */
+public enum CustomerSearchOrder {
+
+    EMAIL("email", false),
+    DNI("dni", true),
+    LAST_NAME("lastName", false),
+    FIRST_NAME("firstName", false);
+
+    private final String attribute;
+    private final boolean unique; // Unique columns need no ID tie-breaker
+
+    CustomerSearchOrder(String attribute, boolean unique) {
+        this.attribute = attribute;
+        this.unique = unique;
+    }
+
+    /**
+     * @return The sort matching the column's index.
+     */
+    public Sort sort() {
+        return unique ? Sort.by(attribute) : Sort.by(attribute, "id");
+    }
+
+    /**
+     * Keyset predicate for the page after the given position: (column, id) &gt; (value, id),
+     * written as a range on the column so it narrows the same index scan.
+     *
+     * @param value The column value of the last customer already returned.
+     * @param id    The ID of the last customer already returned.
+     * @return A predicate matching the customers that sort after that position.
+     */
+    public Specification<Customer> after(String value, Long id) {
+        if (unique) {
+            return (root, query, cb) -> cb.greaterThan(root.get(attribute), value);
+        }
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get(attribute), value),
+                cb.or(cb.greaterThan(root.get(attribute), value), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * @param customer A customer returned by the search.
+     * @return The customer's value for this order's column, used to build the next cursor.
+     */
+    public String valueOf(Customer customer) {
+        return switch (this) {
+            case EMAIL -> customer.getEmail();
+            case DNI -> customer.getDni();
+            case LAST_NAME -> customer.getLastName();
+            case FIRST_NAME -> customer.getFirstName();
+        };
+    }
+}
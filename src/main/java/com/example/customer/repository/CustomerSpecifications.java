@@ -0,0 +1,65 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.Customer;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query predicates for the customer search.
+ * Prefix matches are written as LIKE 'prefix%' so the database can answer them with a range scan on
+ * the column index; case-insensitivity comes from the column collation, not from LOWER(), which would
+ * prevent index use. Results are ordered and paged with {@link CustomerSearchOrder}.
+ */
+public final class CustomerSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private CustomerSpecifications() {
+    }
+
+    /**
+     * @param prefix The start of the DNI.
+     * @return A predicate matching customers whose DNI starts with the prefix.
+     */
+    public static Specification<Customer> dniStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("dni"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /**
+     * @param prefix The start of the first name, in any case.
+     * @return A predicate matching customers whose first name starts with the prefix.
+     */
+    public static Specification<Customer> firstNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("firstName"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /**
+     * @param prefix The start of the last name, in any case.
+     * @return A predicate matching customers whose last name starts with the prefix.
+     */
+    public static Specification<Customer> lastNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("lastName"), likePrefix(prefix), LIKE_ESCAPE);
+    }
+
+    /**
+     * @param email The full email address.
+     * @return A predicate matching customers with exactly this email.
+     */
+    public static Specification<Customer> emailEquals(String email) {
+        return (root, query, cb) -> cb.equal(root.get("email"), email);
+    }
+
+    /**
+     * Escapes LIKE wildcards so user input is always matched literally.
+     */
+    static String likePrefix(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
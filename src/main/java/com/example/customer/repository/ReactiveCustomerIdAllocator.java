@@ -0,0 +1,77 @@
+package com.example.customer.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates customer IDs for the reactive stack from the same customers_seq table that Hibernate's
+ * pooled optimizer uses for {@link com.example.customer.model.Customer}. Each call to the table
+ * advances next_val by the allocation size and claims the range (value - size, value], exactly as
+ * Hibernate does, so IDs handed out by both stacks never overlap.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerIdAllocator {
+
+    static final int ALLOCATION_SIZE = 50; // Must match @SequenceGenerator(allocationSize) on Customer
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    public ReactiveCustomerIdAllocator(DatabaseClient databaseClient, TransactionalOperator reactiveTransactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = reactiveTransactionalOperator;
+    }
+
+    /**
+     * @return A Mono emitting the next free customer ID.
+     */
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Block block = current.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id <= block.last) {
+                    return Mono.just(id);
+                }
+            }
+            return fetchBlock().map(fetched -> {
+                current.set(fetched);
+                return fetched.next.getAndIncrement();
+            });
+        });
+    }
+
+    private Mono<Block> fetchBlock() {
+        Mono<Block> fetch = databaseClient.sql("SELECT next_val FROM customers_seq FOR UPDATE")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("UPDATE customers_seq SET next_val = :next WHERE next_val = :current")
+                        .bind("next", value + ALLOCATION_SIZE)
+                        .bind("current", value)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(new Block(Math.max(1, value - ALLOCATION_SIZE + 1), value)));
+        return transactionalOperator.transactional(fetch);
+    }
+
+    /**
+     * A range of IDs claimed from the sequence table.
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
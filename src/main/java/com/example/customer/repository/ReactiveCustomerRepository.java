@@ -0,0 +1,62 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.CustomerRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * ReactiveCustomerRepository is the R2DBC counterpart of {@link CustomerRepository},
+ * used by the reactive stack (profile "reactive"). Every method is non-blocking.
+ */
+@Repository
+public interface ReactiveCustomerRepository extends R2dbcRepository<CustomerRow, Long> {
+
+    /**
+     * Checks the existence of a customer by their DNI.
+     *
+     * @param dni The DNI of the customer to check.
+     * @return A Mono emitting true if a customer with the specified DNI exists.
+     */
+    Mono<Boolean> existsByDni(String dni);
+
+    /**
+     * Retrieves the next page of customers after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param afterId The last ID seen by the client; use 0 to start from the beginning.
+     * @param limit   The maximum number of customers to return.
+     * @return The customers whose ID is greater than afterId, in ascending ID order.
+     */
+    @Query("SELECT * FROM customers WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<CustomerRow> findPageAfter(Long afterId, int limit);
+
+    /**
+     * Streams all customers ordered by ID; rows are fetched as the subscriber requests them.
+     *
+     * @return A Flux over all customers.
+     */
+    Flux<CustomerRow> findAllByOrderByIdAsc();
+
+    /**
+     * Retrieves the customers with any of the given DNIs, in a single IN query.
+     *
+     * @param dnis The DNIs to look up.
+     * @return The customers found.
+     */
+    Flux<CustomerRow> findAllByDniIn(Collection<String> dnis);
+
+    /**
+     * Deletes a customer by ID in a single statement.
+     *
+     * @param id The ID of the customer to delete.
+     * @return A Mono emitting the number of rows deleted (0 or 1).
+     */
+    @Modifying
+    @Query("DELETE FROM customers WHERE id = :id")
+    Mono<Integer> deleteCustomerById(Long id);
+}
@@ -0,0 +1,168 @@
+package com.example.customer.search;
+
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional in-process autocomplete over customer names, emails and DNIs, backed by a
+ * {@link CustomerAutocompleteIndex}. The index is built from the database once the application is
+ * ready and kept current by the service write paths. Until the first build completes, or when the
+ * feature is disabled, {@link #suggest(String, int)} returns empty and callers query the database.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerAutocomplete {
+
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final double MAX_PENDING_RATIO = 0.1; // Rebuild once 10% of the base changed
+
+    private final CustomerRepository customerRepository;
+    private final boolean enabled;
+    private final CustomerAutocompleteIndex index = new CustomerAutocompleteIndex();
+    private final Timer lookupTimer;
+
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CustomerAutocomplete(CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                                @Value("${customer.autocomplete.enabled:false}") boolean enabled) {
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.lookupTimer = Timer.builder("customer.autocomplete.lookups")
+                .description("Latency of in-memory autocomplete lookups")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000)) // Lookups take microseconds; the default starts at 1ms
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+        Gauge.builder("customer.autocomplete.memory", index, CustomerAutocompleteIndex::memoryBytes)
+                .description("Estimated memory held by the autocomplete index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("customer.autocomplete.entries", index, CustomerAutocompleteIndex::baseSize)
+                .description("Customers in the base segment of the autocomplete index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns customers whose first name, last name, email or DNI starts with the query.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of customers to return.
+     * @return The matches, or empty if the index is disabled or not built yet.
+     */
+    public Optional<List<CustomerResponse>> suggest(String query, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(lookupTimer.record(() -> index.suggest(query, limit)));
+    }
+
+    /**
+     * Adds or replaces a customer after it was created or updated.
+     *
+     * @param customer The saved customer.
+     */
+    public void index(Customer customer) {
+        if (enabled) {
+            index.put(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                    customer.getEmail(), customer.getDni());
+            rebuildIfStale();
+        }
+    }
+
+    /**
+     * Removes a customer after it was deleted.
+     *
+     * @param id The ID of the deleted customer.
+     */
+    public void remove(Long id) {
+        if (enabled) {
+            index.remove(id);
+            rebuildIfStale();
+        }
+    }
+
+    /**
+     * Builds the index from the customers table once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Rebuilds the index in the background unless a rebuild is already running.
+     */
+    public void scheduleRebuild() {
+        if (enabled && rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild the autocomplete index", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads every customer from the database in keyset pages and swaps in a freshly built base segment.
+     * Writes made while the rebuild runs are kept.
+     */
+    public void rebuild() {
+        CustomerAutocompleteIndex.Builder builder = index.startRebuild();
+        long afterId = 0;
+        long count = 0;
+        List<CustomerResponse> page;
+        do {
+            page = customerRepository.findResponsesByIdGreaterThan(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (CustomerResponse customer : page) {
+                builder.add(customer.getId(), customer.getFirstName(), customer.getLastName(),
+                        customer.getEmail(), customer.getDni());
+                afterId = customer.getId();
+            }
+            count += page.size();
+        } while (page.size() == REBUILD_BATCH_SIZE);
+        index.finishRebuild(builder);
+        ready = true;
+        log.info("Autocomplete index built with {} customers ({} bytes)", count, index.memoryBytes());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuildIfStale() {
+        if (ready && index.pendingChanges() > Math.max(REBUILD_BATCH_SIZE, index.baseSize() * MAX_PENDING_RATIO)) {
+            scheduleRebuild();
+        }
+    }
+}
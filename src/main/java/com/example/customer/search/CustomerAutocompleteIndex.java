@@ -0,0 +1,430 @@
+package com.example.customer.search;
+
+import com.example.customer.dto.CustomerResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory prefix index over customer first name, last name, email and DNI for type-ahead lookups.
+ *
+ * Most customers live in an immutable base segment: one array per field holding the customer slots
+ * sorted by that field (case-insensitive), so a prefix is a binary search followed by a short forward
+ * scan. Repeated names are stored once. Writes since the base was built go to a small concurrent delta;
+ * customers changed or deleted since then are tombstoned in the base. Once the delta grows, the owner
+ * rebuilds the base with {@link #startRebuild()} and {@link #finishRebuild(Builder)}.
+ *
+ * Lookups do not lock. Writes are serialized with each other and with the swap of a rebuilt base.
+ */
+public final class CustomerAutocompleteIndex {
+
+    private static final int FIELDS = 4;
+    private static final int LAST_NAME = 0;
+    private static final int FIRST_NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int DNI = 3;
+    private static final int NO_FIELD = -1;
+    private static final char KEY_SEPARATOR = '\u0000'; // Sorts before any character of a value
+
+    private static final int MAX_SCANNED_PER_FIELD = 5_000; // Bounds two-word lookups on very common names
+
+    private volatile Segment base = new Builder().build();
+    private volatile Delta delta = new Delta();
+    private Delta nextDelta; // Receives writes while a rebuild reads the database; guarded by this
+
+    /**
+     * Returns up to limit customers whose first name, last name, email or DNI starts with the query,
+     * ignoring case. A two-word query matches first name and last name prefixes in either order.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of customers to return.
+     * @return The matching customers, last name matches first.
+     */
+    public List<CustomerResponse> suggest(String query, int limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Segment segment = base;
+        Delta current = delta;
+        Map<Long, Entry> found = new LinkedHashMap<>();
+        int space = trimmed.indexOf(' ');
+        if (space > 0) {
+            String first = trimmed.substring(0, space);
+            String second = trimmed.substring(space + 1).trim();
+            collect(segment, current, FIRST_NAME, first, LAST_NAME, second, limit, found);
+            collect(segment, current, LAST_NAME, first, FIRST_NAME, second, limit, found);
+        } else {
+            for (int field = 0; field < FIELDS && found.size() < limit; field++) {
+                collect(segment, current, field, trimmed, NO_FIELD, null, limit, found);
+            }
+        }
+        List<CustomerResponse> result = new ArrayList<>(found.size());
+        for (Entry entry : found.values()) {
+            result.add(new CustomerResponse(entry.id(), entry.firstName(), entry.lastName(), entry.dni(), entry.email()));
+        }
+        return result;
+    }
+
+    /**
+     * Adds a customer or replaces its previous values.
+     */
+    public synchronized void put(Long id, String firstName, String lastName, String email, String dni) {
+        Entry entry = new Entry(id, firstName, lastName, email, dni);
+        delta.put(entry);
+        if (nextDelta != null) {
+            nextDelta.put(entry);
+        }
+    }
+
+    /**
+     * Removes a customer.
+     */
+    public synchronized void remove(Long id) {
+        delta.remove(id);
+        if (nextDelta != null) {
+            nextDelta.remove(id);
+        }
+    }
+
+    /**
+     * Starts a rebuild. Writes from now on are also kept for the rebuilt index, so the caller can read
+     * the customers without blocking writers.
+     *
+     * @return The builder to fill with every customer.
+     */
+    public synchronized Builder startRebuild() {
+        nextDelta = new Delta();
+        return new Builder();
+    }
+
+    /**
+     * Swaps in the base built from the given builder, keeping the writes made since {@link #startRebuild()}.
+     */
+    public void finishRebuild(Builder builder) {
+        Segment segment = builder.build(); // Sorting happens outside the lock
+        synchronized (this) {
+            base = segment;
+            delta = nextDelta == null ? new Delta() : nextDelta;
+            nextDelta = null;
+        }
+    }
+
+    /**
+     * @return The number of customers changed since the base was built; a measure of how stale the base is.
+     */
+    public int pendingChanges() {
+        return delta.removedFromBase.size(); // Every put and remove tombstones the ID in the base
+    }
+
+    /**
+     * @return The number of customers in the base segment.
+     */
+    public int baseSize() {
+        return base.ids.length;
+    }
+
+    /**
+     * Estimates the heap held by the index: arrays, the distinct strings and the delta.
+     *
+     * @return The estimated size in bytes.
+     */
+    public long memoryBytes() {
+        Segment segment = base;
+        Delta current = delta;
+        // Delta entries: skip-list nodes and key strings per field, plus the map node and record
+        return segment.memoryBytes + (long) current.entries.size() * 600 + current.removedFromBase.size() * 64L;
+    }
+
+    /**
+     * Adds the customers whose field starts with prefix and, unless otherField is NO_FIELD, whose otherField
+     * starts with otherPrefix; ordered by field.
+     */
+    private static void collect(Segment segment, Delta current, int field, String prefix, int otherField,
+                                String otherPrefix, int limit, Map<Long, Entry> found) {
+        List<Entry> matches = new ArrayList<>();
+        segment.scan(field, prefix, otherField, otherPrefix, current.removedFromBase, limit, matches);
+        current.scan(field, prefix, otherField, otherPrefix, limit, matches);
+        matches.sort(Comparator.comparing((Entry entry) -> entry.value(field), String.CASE_INSENSITIVE_ORDER));
+        for (Entry entry : matches) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.putIfAbsent(entry.id(), entry);
+        }
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return value != null && value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    private static String lowerKey(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long id, String firstName, String lastName, String email, String dni) {
+
+        String value(int field) {
+            return switch (field) {
+                case LAST_NAME -> lastName;
+                case FIRST_NAME -> firstName;
+                case EMAIL -> email;
+                default -> dni;
+            };
+        }
+    }
+
+    /**
+     * Immutable, compact base segment. Slot i describes one customer; sorted[field] lists slots by that field.
+     */
+    private static final class Segment {
+
+        private final long[] ids;
+        private final String[][] values; // [field][slot]
+        private final int[][] sorted; // [field][rank] = slot
+        private final long memoryBytes;
+
+        private Segment(long[] ids, String[][] values, int[][] sorted, long memoryBytes) {
+            this.ids = ids;
+            this.values = values;
+            this.sorted = sorted;
+            this.memoryBytes = memoryBytes;
+        }
+
+        void scan(int field, String prefix, int otherField, String otherPrefix, Set<Long> removed, int limit,
+                  List<Entry> out) {
+            int low = lowerBound(field, prefix);
+            int high = upperBound(field, prefix, low);
+            if (otherField != NO_FIELD) {
+                int otherLow = lowerBound(otherField, otherPrefix);
+                int otherHigh = upperBound(otherField, otherPrefix, otherLow);
+                if (otherHigh - otherLow < high - low) { // Walk the narrower range and check the other field
+                    scanRange(otherField, otherLow, otherHigh, field, prefix, removed, limit, out);
+                    return;
+                }
+            }
+            scanRange(field, low, high, otherField, otherPrefix, removed, limit, out);
+        }
+
+        private void scanRange(int field, int low, int high, int otherField, String otherPrefix, Set<Long> removed,
+                               int limit, List<Entry> out) {
+            int[] order = sorted[field];
+            int added = 0;
+            int end = Math.min(high, low + MAX_SCANNED_PER_FIELD);
+            for (int rank = low; rank < end && added < limit; rank++) {
+                int slot = order[rank];
+                if ((otherField == NO_FIELD || startsWith(values[otherField][slot], otherPrefix))
+                        && (removed.isEmpty() || !removed.contains(ids[slot]))) {
+                    out.add(new Entry(ids[slot], values[FIRST_NAME][slot], values[LAST_NAME][slot],
+                            values[EMAIL][slot], values[DNI][slot]));
+                    added++;
+                }
+            }
+        }
+
+        /**
+         * Returns the first rank whose value is not less than the prefix, ignoring case.
+         */
+        private int lowerBound(int field, String prefix) {
+            String[] column = values[field];
+            int[] order = sorted[field];
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (String.CASE_INSENSITIVE_ORDER.compare(column[order[mid]], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the first rank from low on whose value does not start with the prefix, ignoring case.
+         */
+        private int upperBound(int field, String prefix, int low) {
+            String[] column = values[field];
+            int[] order = sorted[field];
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startsWith(column[order[mid]], prefix)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Customers written since the base was built, with one sorted key set per field.
+     */
+    private static final class Delta {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final List<NavigableSet<String>> keys = new ArrayList<>(FIELDS);
+        private final Set<Long> removedFromBase = ConcurrentHashMap.newKeySet();
+
+        private Delta() {
+            for (int field = 0; field < FIELDS; field++) {
+                keys.add(new ConcurrentSkipListSet<>());
+            }
+        }
+
+        void put(Entry entry) {
+            removedFromBase.add(entry.id());
+            Entry previous = entries.put(entry.id(), entry);
+            for (int field = 0; field < FIELDS; field++) {
+                if (previous != null) {
+                    keys.get(field).remove(key(previous, field));
+                }
+                keys.get(field).add(key(entry, field));
+            }
+        }
+
+        void remove(Long id) {
+            removedFromBase.add(id);
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                for (int field = 0; field < FIELDS; field++) {
+                    keys.get(field).remove(key(previous, field));
+                }
+            }
+        }
+
+        void scan(int field, String prefix, int otherField, String otherPrefix, int limit, List<Entry> out) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            String lowerPrefix = lowerKey(prefix);
+            int added = 0;
+            for (String key : keys.get(field).tailSet(lowerPrefix)) {
+                if (added >= limit || !key.startsWith(lowerPrefix)) {
+                    return;
+                }
+                Entry entry = entries.get(Long.parseLong(key.substring(key.lastIndexOf(KEY_SEPARATOR) + 1)));
+                // The entry may have changed since the key was read
+                if (entry != null && startsWith(entry.value(field), prefix)
+                        && (otherField == NO_FIELD || startsWith(entry.value(otherField), otherPrefix))) {
+                    out.add(entry);
+                    added++;
+                }
+            }
+        }
+
+        private static String key(Entry entry, int field) {
+            return lowerKey(entry.value(field)) + KEY_SEPARATOR + entry.id();
+        }
+    }
+
+    /**
+     * Collects customers for a new base segment. Not thread-safe; fill it from a single thread.
+     */
+    public static final class Builder {
+
+        private static final long STRING_OVERHEAD = 40; // String object plus array header, compressed oops
+
+        private long[] ids = new long[1024];
+        private String[][] values = new String[FIELDS][1024];
+        private int size;
+        private final Map<String, String> names = new HashMap<>(); // Stores each distinct name once
+        private long stringBytes;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds one customer to the segment being built.
+         */
+        public void add(Long id, String firstName, String lastName, String email, String dni) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                for (int field = 0; field < FIELDS; field++) {
+                    values[field] = Arrays.copyOf(values[field], capacity);
+                }
+            }
+            ids[size] = id;
+            values[FIRST_NAME][size] = dedupe(firstName);
+            values[LAST_NAME][size] = dedupe(lastName);
+            values[EMAIL][size] = track(email);
+            values[DNI][size] = track(dni);
+            size++;
+        }
+
+        private Segment build() {
+            long[] segmentIds = Arrays.copyOf(ids, size);
+            String[][] segmentValues = new String[FIELDS][];
+            int[][] sorted = new int[FIELDS][];
+            for (int field = 0; field < FIELDS; field++) {
+                String[] column = Arrays.copyOf(values[field], size);
+                segmentValues[field] = column;
+                sorted[field] = sortSlots(column);
+            }
+            long memory = (long) size * (Long.BYTES + FIELDS * (Integer.BYTES + Integer.BYTES)) + stringBytes;
+            return new Segment(segmentIds, segmentValues, sorted, memory);
+        }
+
+        private String dedupe(String name) {
+            if (name == null) {
+                return "";
+            }
+            String existing = names.putIfAbsent(name, name);
+            return existing == null ? track(name) : existing;
+        }
+
+        private String track(String value) {
+            if (value == null) {
+                return "";
+            }
+            stringBytes += STRING_OVERHEAD + ((value.length() + 7) & ~7);
+            return value;
+        }
+
+        /**
+         * Returns the slots 0..n-1 ordered by the column value, ignoring case (stable merge sort on primitives).
+         */
+        private static int[] sortSlots(String[] column) {
+            int[] slots = new int[column.length];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = i;
+            }
+            int[] buffer = new int[slots.length];
+            for (int width = 1; width < slots.length; width *= 2) {
+                for (int low = 0; low < slots.length - width; low += 2 * width) {
+                    int mid = low + width;
+                    int high = Math.min(low + 2 * width, slots.length);
+                    int left = low;
+                    int right = mid;
+                    int out = low;
+                    while (left < mid && right < high) {
+                        buffer[out++] = String.CASE_INSENSITIVE_ORDER.compare(column[slots[right]], column[slots[left]]) < 0
+                                ? slots[right++] : slots[left++];
+                    }
+                    while (left < mid) {
+                        buffer[out++] = slots[left++];
+                    }
+                    while (right < high) {
+                        buffer[out++] = slots[right++];
+                    }
+                    System.arraycopy(buffer, low, slots, low, high - low);
+                }
+            }
+            return slots;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package com.example.customer.service;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface AccountValidationService {
     /**
      * Checks if a customer can be deleted based on their active bank accounts.
      *
      * @param customerId The ID of the customer.
      * @return True if the customer can be deleted, false otherwise.
+     * @throws com.example.customer.client.BankAccountServiceUnavailableException If the accounts cannot be verified.
      */
     boolean canDeleteCustomer(Long customerId);
+
+    /**
+     * Checks many customers at once, with a bounded number of calls to the bank account service in flight.
+     *
+     * @param customerIds The IDs of the customers.
+     * @return For each customer that could be verified, true if it can be deleted, false otherwise.
+     *         Customers whose accounts cannot be verified are absent.
+     */
+    Map<Long, Boolean> canDeleteCustomers(Collection<Long> customerIds);
 }
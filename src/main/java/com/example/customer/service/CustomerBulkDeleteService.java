@@ -0,0 +1,17 @@
+package com.example.customer.service;
+
+import com.example.customer.dto.BulkDeleteReport;
+
+import java.util.List;
+
+public interface CustomerBulkDeleteService {
+    /**
+     * Deletes many customers, skipping those that have bank accounts or whose accounts cannot be verified.
+     * Account checks run concurrently; eligible customers are deleted in chunks, one DELETE ... IN per chunk,
+     * each chunk in its own transaction.
+     *
+     * @param ids The IDs of the customers to delete; repeated IDs are reported once.
+     * @return A report with the outcome for every ID.
+     */
+    BulkDeleteReport deleteCustomers(List<Long> ids);
+}
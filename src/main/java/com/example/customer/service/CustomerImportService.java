@@ -0,0 +1,19 @@
+package com.example.customer.service;
+
+import com.example.customer.dto.ImportReport;
+import com.example.customer.model.Customer;
+
+import java.util.Iterator;
+
+public interface CustomerImportService {
+    /**
+     * Imports customers in chunks, checking DNIs with one query per chunk and inserting in JDBC batches.
+     * Each chunk is committed independently; a failing chunk does not undo the previous ones, and its
+     * rows are retried one by one. A malformed row ends the import: it is reported as invalid and the
+     * rows read before it are still imported.
+     *
+     * @param customers The customers to import, in file order.
+     * @return A report with the outcome of every row.
+     */
+    ImportReport importCustomers(Iterator<Customer> customers);
+}
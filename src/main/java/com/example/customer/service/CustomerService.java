@@ -1,9 +1,16 @@
 package com.example.customer.service;
 
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerChangeFeed;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.dto.CustomerSearchCriteria;
 import com.example.customer.model.Customer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * CustomerService defines the business operations for managing customers.
@@ -16,15 +23,61 @@ public interface CustomerService {
    *
    * @param customer The customer to be created.
    * @return The created customer.
+   * @throws DuplicateDniException if a customer with the same DNI already exists.
    */
   Customer createCustomer(Customer customer);
 
   /**
-   * Retrieves all customers.
+   * Retrieves a page of customers using keyset pagination on the ID, read straight into response DTOs
+   * without loading entities.
    *
-   * @return A list of all customers.
+   * @param afterId The ID of the last customer already seen, or null to start from the beginning.
+   * @param limit The maximum number of customers to return.
+   * @return The customers whose ID is greater than afterId, in ascending ID order.
    */
-  List<Customer> getAllCustomers();
+  List<CustomerResponse> getCustomersAfter(Long afterId, int limit);
+
+  /**
+   * Streams every customer to the given consumer, one row at a time, in ascending ID order.
+   * Customers are detached after being consumed, so memory use does not depend on the table size.
+   *
+   * @param consumer The action applied to each customer.
+   */
+  void streamAllCustomers(Consumer<Customer> consumer);
+
+  /**
+   * Searches customers by DNI prefix, first/last name prefix (case-insensitive) and exact email.
+   * Criteria that are given are combined with AND. Results are sorted by the indexed column of the
+   * most selective criterion (email, then DNI, last name, first name) and paged with a cursor.
+   *
+   * @param criteria The search criteria; at least one must be set.
+   * @param cursor The cursor returned as 'next' by the previous page, or null for the first page.
+   * @param limit The maximum number of customers to return.
+   * @return The page of matching customers and the cursor of the next page.
+   * @throws IllegalArgumentException If no criterion is set, the DNI prefix is not numeric or the cursor is invalid.
+   */
+  CustomerPage searchCustomers(CustomerSearchCriteria criteria, String cursor, int limit);
+
+  /**
+   * Suggests customers whose first name, last name, email or DNI starts with the query.
+   * Served from the in-memory autocomplete index when it is enabled and built; otherwise a single
+   * indexed database search on the DNI, email or last name, depending on what the query looks like.
+   *
+   * @param query The text typed so far; "maria gar" matches first and last name together.
+   * @param limit The maximum number of customers to return.
+   * @return The suggested customers.
+   */
+  List<CustomerResponse> autocompleteCustomers(String query, int limit);
+
+  /**
+   * Reads the feed of customer changes (creates, updates, deletes) after the given offset, in order.
+   * Consumers poll with the 'next' offset of the previous read instead of re-reading all customers.
+   *
+   * @param since The offset returned by the previous read, or 0 to start from the oldest retained event.
+   * @param limit The maximum number of events to return.
+   * @return The events and the offset of the next read.
+   */
+  CustomerChangeFeed getChanges(long since, int limit);
 
   /**
    * Retrieves a customer by their ID.
@@ -34,6 +87,24 @@ public interface CustomerService {
    */
   Optional<Customer> getCustomerById(Long id);
 
+  /**
+   * Retrieves a customer by their ID as a response DTO, served from the in-process cache when possible.
+   *
+   * @param id The ID of the customer to retrieve.
+   * @return An Optional containing the customer if found, or empty if not found.
+   */
+  Optional<CustomerResponse> getCustomerResponseById(Long id);
+
+  /**
+   * Retrieves many customers at once by ID and/or DNI.
+   * IDs are served from the cache when possible; the rest use one query for IDs and one IN query for DNIs.
+   *
+   * @param ids The IDs to look up.
+   * @param dnis The DNIs to look up.
+   * @return The customers found, each listed once, and the keys that matched no customer.
+   */
+  BatchGetResponse getCustomersByIdsAndDnis(Collection<Long> ids, Collection<String> dnis);
+
   /**
    * Updates an existing customer's details.
    *
@@ -42,7 +113,26 @@ public interface CustomerService {
    * @return The updated customer.
    * @throws IllegalArgumentException if the customer does not exist.
    */
-  Customer updateCustomer(Long id, Customer customer);
+  default Customer updateCustomer(Long id, Customer customer) {
+    return updateCustomer(id, customer, null);
+  }
+
+  /**
+   * Updates an existing customer's details if it is still at the expected version.
+   * The update itself is version-checked, so a concurrent update is never silently overwritten.
+   *
+   * @param id The ID of the customer to update.
+   * @param customer The customer details to update.
+   * @param expectedVersion The version the caller read (from If-Match), or null to update any version.
+   * @return The updated customer, with its new version; the version may be null if no version was given.
+   * @throws IllegalArgumentException if the customer does not exist.
+   * @throws CustomerVersionMismatchException if an expected version is given and the customer is at another one,
+   *         or a concurrent update commits first.
+   * @throws DuplicateDniException if the DNI is known to belong to another customer before writing.
+   * @throws org.springframework.dao.DataIntegrityViolationException if the unique index finds the DNI taken by
+   *         another customer.
+   */
+  Customer updateCustomer(Long id, Customer customer, Long expectedVersion);
 
   /**
    * Deletes a customer by their ID.
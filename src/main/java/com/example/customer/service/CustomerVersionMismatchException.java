@@ -0,0 +1,16 @@
+package com.example.customer.service;
+
+/**
+ * Thrown when a conditional update targets a version of the customer that is no longer current,
+ * either because the If-Match version is stale or because a concurrent update committed first.
+ */
+public class CustomerVersionMismatchException extends RuntimeException {
+
+    public CustomerVersionMismatchException(String message) {
+        super(message);
+    }
+
+    public CustomerVersionMismatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
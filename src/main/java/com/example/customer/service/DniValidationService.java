@@ -8,4 +8,36 @@ public interface DniValidationService {
      * @return True if the DNI is unique, false otherwise.
      */
     boolean isUnique(String dni);
+
+    /**
+     * Records a DNI that has just been saved, so later checks for it go to the database.
+     *
+     * @param dni The DNI that was saved.
+     */
+    void registerDni(String dni);
+
+    /**
+     * Records the DNI saved by an update, which removes the previous DNI when it differs. The stale-entry
+     * count that triggers a rebuild is exact when the previous DNI is given. An update that did not read the
+     * customer does not know it; a DNI the filter has not seen yet then counts as a new DNI replacing a
+     * removed one, so a change to a DNI the filter already reports as present is not counted.
+     *
+     * @param previousDni The DNI the customer had before the update, or null if it was not read.
+     * @param dni         The DNI the customer has after the update.
+     */
+    void registerUpdatedDni(String previousDni, String dni);
+
+    /**
+     * Records that a customer has just been deleted, which removes exactly one DNI. The DNI itself is
+     * not needed: the filter cannot drop entries, so only the number of removed DNIs is counted, to
+     * rebuild the filter once too many of its entries are stale.
+     */
+    void unregisterDni();
+
+    /**
+     * Records that the DNIs of several customers have just been removed, such as by one chunk of a bulk delete.
+     *
+     * @param count The number of DNIs removed.
+     */
+    void unregisterDnis(int count);
 }
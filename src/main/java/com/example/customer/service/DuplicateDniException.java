@@ -0,0 +1,17 @@
+package com.example.customer.service;
+
+/**
+ * Thrown when a customer is created or updated with a DNI that already belongs to another customer.
+ */
+public class DuplicateDniException extends IllegalArgumentException {
+
+    public static final String MESSAGE = "A customer with this DNI already exists.";
+
+    public DuplicateDniException() {
+        super(MESSAGE);
+    }
+
+    public DuplicateDniException(Throwable cause) {
+        super(MESSAGE, cause);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.customer.service;
+
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.model.Customer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * ReactiveCustomerService is the non-blocking counterpart of {@link CustomerService},
+ * used by the reactive stack (profile "reactive").
+ */
+public interface ReactiveCustomerService {
+
+  /**
+   * Creates a new customer.
+   *
+   * @param customer The customer to be created.
+   * @return A Mono emitting the created customer, or an IllegalArgumentException if the DNI is taken.
+   */
+  Mono<Customer> createCustomer(Customer customer);
+
+  /**
+   * Retrieves a page of customers using keyset pagination on the ID.
+   *
+   * @param afterId The ID of the last customer already seen, or null to start from the beginning.
+   * @param limit The maximum number of customers to return.
+   * @return The customers whose ID is greater than afterId, in ascending ID order.
+   */
+  Flux<Customer> getCustomersAfter(Long afterId, int limit);
+
+  /**
+   * Streams every customer in ascending ID order, honouring subscriber backpressure.
+   *
+   * @return A Flux over all customers.
+   */
+  Flux<Customer> streamAllCustomers();
+
+  /**
+   * Retrieves a customer by their ID.
+   *
+   * @param id The ID of the customer to retrieve.
+   * @return A Mono emitting the customer, or empty if not found.
+   */
+  Mono<Customer> getCustomerById(Long id);
+
+  /**
+   * Retrieves many customers at once by ID and/or DNI.
+   *
+   * @param ids The IDs to look up.
+   * @param dnis The DNIs to look up.
+   * @return The customers found, each listed once, and the keys that matched no customer.
+   */
+  Mono<BatchGetResponse> getCustomersByIdsAndDnis(Collection<Long> ids, Collection<String> dnis);
+
+  /**
+   * Updates an existing customer's details.
+   *
+   * @param id The ID of the customer to update.
+   * @param customer The customer details to update.
+   * @return A Mono emitting the updated customer, or an IllegalArgumentException if not found or the DNI is taken.
+   */
+  Mono<Customer> updateCustomer(Long id, Customer customer);
+
+  /**
+   * Deletes a customer by their ID if they have no active bank accounts.
+   *
+   * @param id The ID of the customer to delete.
+   * @return A Mono emitting true if the customer was deleted, false if not found, or an
+   *         IllegalStateException if the customer has active bank accounts.
+   */
+  Mono<Boolean> deleteCustomer(Long id);
+}
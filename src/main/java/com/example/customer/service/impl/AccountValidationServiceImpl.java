@@ -1,21 +1,122 @@
 package com.example.customer.service.impl;
 
 import com.example.customer.client.BankAccountClient;
+import com.example.customer.client.BankAccountServiceUnavailableException;
 import com.example.customer.service.AccountValidationService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Checks bank accounts through the bank account service, coalescing concurrent checks for the same
+ * customer into one call and keeping each answer for a short time-to-live. Hits (including callers that
+ * joined a call in flight), misses and evictions are published as the "customer.account-checks" cache
+ * metrics; misses are the calls actually made.
+ *
+ * Bulk checks run at most "parallelism" calls at once, either one per customer or, when the bank account
+ * service offers it, one per batch of customers.
+ */
 @Service
 public class AccountValidationServiceImpl implements AccountValidationService {
 
     private final BankAccountClient bankAccountClient;
+    private final AsyncCache<Long, Boolean> accountChecks; // Customer ID -> has bank accounts
+    private final int parallelism;
+    private final boolean batchEndpointEnabled;
+    private final int batchSize;
 
-    public AccountValidationServiceImpl(BankAccountClient bankAccountClient) {
+    public AccountValidationServiceImpl(BankAccountClient bankAccountClient, MeterRegistry meterRegistry,
+                                        @Value("${customer.account-check.ttl:5s}") Duration ttl,
+                                        @Value("${customer.account-check.maximum-size:10000}") long maximumSize,
+                                        @Value("${customer.account-check.parallelism:16}") int parallelism,
+                                        @Value("${microservices.bank-accounts.batch-endpoint.enabled:false}") boolean batchEndpointEnabled,
+                                        @Value("${microservices.bank-accounts.batch-endpoint.max-ids:500}") int batchSize) {
         this.bankAccountClient = bankAccountClient;
+        this.parallelism = parallelism;
+        this.batchEndpointEnabled = batchEndpointEnabled;
+        this.batchSize = batchSize;
+        // A zero TTL caches nothing, but calls in flight are still shared: Caffeine only expires completed entries
+        this.accountChecks = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, accountChecks, "customer.account-checks");
     }
 
+    /**
+     * Fails closed: if the bank account service cannot answer, the BankAccountServiceUnavailableException
+     * raised by the client propagates and the delete is refused. Failed checks are not cached, so the
+     * next caller tries again.
+     */
     @Override
     public boolean canDeleteCustomer(Long customerId) {
-        return !bankAccountClient.hasBankAccounts(customerId);
+        try {
+            return !accountChecks.get(customerId, (id, executor) -> bankAccountClient.hasBankAccountsAsync(id).toFuture())
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause; // Surface the client's exception, not the future's wrapper
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Customers that cannot be verified, because their call or batch failed, are left out of the result
+     * instead of failing the others.
+     */
+    @Override
+    public Map<Long, Boolean> canDeleteCustomers(Collection<Long> customerIds) {
+        Flux<Map.Entry<Long, Boolean>> hasAccounts = batchEndpointEnabled
+                ? Flux.fromIterable(partition(customerIds)).flatMap(this::checkBatch, parallelism)
+                : Flux.fromIterable(customerIds).flatMap(this::checkOne, parallelism);
+        return hasAccounts
+                .collectMap(Map.Entry::getKey, entry -> !entry.getValue())
+                .block();
     }
-}
 
+    private Mono<Map.Entry<Long, Boolean>> checkOne(Long customerId) {
+        return Mono.fromFuture(accountChecks.get(customerId, (id, executor) -> bankAccountClient.hasBankAccountsAsync(id).toFuture()))
+                .map(hasAccounts -> Map.entry(customerId, hasAccounts))
+                .onErrorResume(BankAccountServiceUnavailableException.class, e -> Mono.empty());
+    }
+
+    private Flux<Map.Entry<Long, Boolean>> checkBatch(List<Long> customerIds) {
+        return bankAccountClient.findCustomersWithBankAccountsAsync(customerIds)
+                .flatMapIterable(withAccounts -> customerIds.stream()
+                        .map(id -> Map.entry(id, withAccounts.contains(id)))
+                        .toList())
+                .doOnNext(entry -> accountChecks.put(entry.getKey(), CompletableFuture.completedFuture(entry.getValue())))
+                .onErrorResume(BankAccountServiceUnavailableException.class, e -> Flux.empty());
+    }
+
+    private List<List<Long>> partition(Collection<Long> customerIds) {
+        List<List<Long>> batches = new ArrayList<>();
+        List<Long> batch = new ArrayList<>(batchSize);
+        for (Long id : customerIds) {
+            batch.add(id);
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
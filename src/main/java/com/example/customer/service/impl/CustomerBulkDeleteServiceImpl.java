@@ -0,0 +1,170 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.dto.BulkDeleteReport;
+import com.example.customer.dto.BulkDeleteResult;
+import com.example.customer.model.Customer;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.CustomerBulkDeleteService;
+import com.example.customer.service.DniValidationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CustomerBulkDeleteServiceImpl deletes large sets of customers, such as those of a purge job.
+ * IDs that do not exist are dropped with one IN query per chunk before any account check, the
+ * remaining customers are checked concurrently through {@link AccountValidationService}, and the
+ * eligible ones are deleted with one DELETE ... IN per chunk. Only the deleted customers are evicted
+ * from the entity cache; the DNI cache region is cleared once per job instead of once per chunk.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerBulkDeleteServiceImpl implements CustomerBulkDeleteService {
+
+    private final CustomerRepository customerRepository;
+    private final AccountValidationService accountValidationService;
+    private final DniValidationService dniValidationService;
+    private final CustomerResponseCache customerResponseCache;
+    private final CustomerAutocomplete customerAutocomplete;
+    private final CustomerOutbox customerOutbox;
+    private final EntityManager entityManager; // Evicts the deleted customers from the entity cache
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter blockedDeletes;
+
+    public CustomerBulkDeleteServiceImpl(CustomerRepository customerRepository,
+                                         AccountValidationService accountValidationService,
+                                         DniValidationService dniValidationService,
+                                         CustomerResponseCache customerResponseCache,
+                                         CustomerAutocomplete customerAutocomplete, CustomerOutbox customerOutbox,
+                                         EntityManager entityManager, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                         @Value("${customer.bulk-delete.chunk-size:1000}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.accountValidationService = accountValidationService;
+        this.dniValidationService = dniValidationService;
+        this.customerResponseCache = customerResponseCache;
+        this.customerAutocomplete = customerAutocomplete;
+        this.customerOutbox = customerOutbox;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.blockedDeletes = Counter.builder("customer.delete.blocked")
+                .description("Deletes refused because the customer still has bank accounts")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public BulkDeleteReport deleteCustomers(List<Long> ids) {
+        Map<Long, BulkDeleteResult> results = new LinkedHashMap<>();
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        requested.forEach(id -> results.put(id, null)); // Fixes the report order
+
+        // Only existing customers are worth a call to the bank account service
+        List<Long> existing = new ArrayList<>(requested.size());
+        for (List<Long> chunk : chunks(requested)) {
+            Set<Long> found = new HashSet<>(customerRepository.findExistingIds(chunk));
+            for (Long id : chunk) {
+                if (found.contains(id)) {
+                    existing.add(id);
+                } else {
+                    results.put(id, notFound(id));
+                }
+            }
+        }
+
+        Map<Long, Boolean> deletable = accountValidationService.canDeleteCustomers(existing);
+        List<Long> eligible = new ArrayList<>(existing.size());
+        for (Long id : existing) {
+            Boolean canDelete = deletable.get(id);
+            if (canDelete == null) {
+                results.put(id, new BulkDeleteResult(id, BulkDeleteResult.Status.UNVERIFIED,
+                        "Bank account service did not answer; customer accounts cannot be verified."));
+            } else if (!canDelete) {
+                blockedDeletes.increment();
+                results.put(id, new BulkDeleteResult(id, BulkDeleteResult.Status.HAS_ACCOUNTS,
+                        "Customer has active bank accounts and cannot be deleted."));
+            } else {
+                eligible.add(id);
+            }
+        }
+
+        for (List<Long> chunk : chunks(eligible)) {
+            deleteChunk(chunk).forEach(result -> results.put(result.getId(), result));
+        }
+        int deleted = (int) results.values().stream()
+                .filter(result -> result.getStatus() == BulkDeleteResult.Status.DELETED)
+                .count();
+        if (deleted > 0) {
+            // The DNI cache cannot be evicted by ID; its entries for deleted customers resolve to nothing
+            // anyway, so it is only cleared once, to free them
+            entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictNaturalIdData(Customer.class);
+        }
+        return new BulkDeleteReport(results.size(), deleted, results.size() - deleted, new ArrayList<>(results.values()));
+    }
+
+    /**
+     * Deletes one chunk in its own transaction, recording one outbox event per deleted customer, then
+     * evicts the deleted customers from the entity cache.
+     */
+    private List<BulkDeleteResult> deleteChunk(List<Long> chunk) {
+        try {
+            List<Long> deletedIds = transactionTemplate.execute(status -> {
+                List<Long> found = customerRepository.findExistingIds(chunk); // Some may have gone since the first check
+                if (!found.isEmpty()) {
+                    customerOutbox.recordDeletions(found); // Same transaction, before the rows are gone
+                    customerRepository.deleteCustomersByIds(found); // One DELETE ... WHERE id IN
+                }
+                return found;
+            });
+            Cache entityCache = entityManager.getEntityManagerFactory().getCache();
+            for (Long id : deletedIds) {
+                entityCache.evict(Customer.class, id);
+                customerResponseCache.invalidate(id); // Drop the stale cached copy
+                customerAutocomplete.remove(id);
+            }
+            dniValidationService.unregisterDnis(deletedIds.size()); // Keep the DNI filter in sync
+            Set<Long> deleted = new HashSet<>(deletedIds);
+            return chunk.stream()
+                    .map(id -> deleted.contains(id) ? new BulkDeleteResult(id, BulkDeleteResult.Status.DELETED, null) : notFound(id))
+                    .toList();
+        } catch (DataAccessException e) {
+            // A lock timeout or constraint violation rolls back the whole chunk
+            return chunk.stream()
+                    .map(id -> new BulkDeleteResult(id, BulkDeleteResult.Status.FAILED,
+                            "Chunk rejected: " + e.getMostSpecificCause().getMessage()))
+                    .toList();
+        }
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static BulkDeleteResult notFound(Long id) {
+        return new BulkDeleteResult(id, BulkDeleteResult.Status.NOT_FOUND, "Customer not found with ID: " + id);
+    }
+}
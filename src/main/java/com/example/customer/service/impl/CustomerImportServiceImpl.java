@@ -0,0 +1,185 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.dto.ImportReport;
+import com.example.customer.dto.ImportRowResult;
+import com.example.customer.mapper.MalformedImportFileException;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.CustomerImportService;
+import com.example.customer.service.DniValidationService;
+import com.example.customer.service.DuplicateDniException;
+import com.example.customer.util.ConstraintViolations;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * CustomerImportServiceImpl imports large customer files in chunks.
+ * Each chunk runs one IN query on DNI, one flush, which Hibernate sends as JDBC insert batches, and one
+ * INSERT ... SELECT for the outbox events. A chunk the database rejects is retried row by row.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomerImportServiceImpl implements CustomerImportService {
+
+    private final CustomerRepository customerRepository;
+    private final DniValidationService dniValidationService;
+    private final CustomerAutocomplete customerAutocomplete;
+    private final CustomerOutbox customerOutbox;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CustomerImportServiceImpl(CustomerRepository customerRepository, DniValidationService dniValidationService,
+                                     CustomerAutocomplete customerAutocomplete, CustomerOutbox customerOutbox,
+                                     Validator validator, EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${customer.import.chunk-size:1000}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.dniValidationService = dniValidationService;
+        this.customerAutocomplete = customerAutocomplete;
+        this.customerOutbox = customerOutbox;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReport importCustomers(Iterator<Customer> customers) {
+        List<ImportRowResult> results = new ArrayList<>();
+        Set<String> dnisInFile = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        while (true) {
+            Customer customer;
+            try {
+                if (!customers.hasNext()) {
+                    break;
+                }
+                customer = customers.next();
+            } catch (MalformedImportFileException e) {
+                // The parser cannot resume past a malformed row: report it, import what was read and stop
+                row++;
+                results.add(new ImportRowResult(row, ImportRowResult.Status.INVALID, null, null,
+                        e.getMessage() + " The rest of the file was not read."));
+                break;
+            }
+            row++;
+            Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+            if (!violations.isEmpty()) {
+                results.add(new ImportRowResult(row, ImportRowResult.Status.INVALID, null, customer.getDni(),
+                        describe(violations)));
+            } else if (!dnisInFile.add(customer.getDni())) {
+                results.add(new ImportRowResult(row, ImportRowResult.Status.DUPLICATE, null, customer.getDni(),
+                        "DNI repeated in the same file."));
+            } else {
+                chunk.add(new PendingRow(row, customer));
+                if (chunk.size() == chunkSize) {
+                    results.addAll(importChunk(chunk));
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(importChunk(chunk));
+        }
+        results.sort(Comparator.comparingInt(ImportRowResult::getRow));
+        int created = (int) results.stream().filter(r -> r.getStatus() == ImportRowResult.Status.CREATED).count();
+        return new ImportReport(row, created, row - created, results);
+    }
+
+    /**
+     * Checks and inserts one chunk in its own transaction. If the chunk is rolled back, its rows are
+     * retried one by one, so only the rows the database rejects are reported as failed.
+     */
+    private List<ImportRowResult> importChunk(List<PendingRow> chunk) {
+        List<ImportRowResult> chunkResults;
+        try {
+            chunkResults = transactionTemplate.execute(status -> insertChunk(chunk));
+        } catch (DataAccessException e) {
+            for (PendingRow pending : chunk) {
+                pending.customer().setId(null); // Rolled back, so the IDs and versions assigned on persist are void
+                pending.customer().setVersion(null);
+            }
+            if (chunk.size() > 1) {
+                List<ImportRowResult> retried = new ArrayList<>(chunk.size());
+                for (PendingRow pending : chunk) {
+                    retried.addAll(importChunk(List.of(pending)));
+                }
+                return retried;
+            }
+            PendingRow pending = chunk.get(0);
+            if (ConstraintViolations.isUniqueViolation(e, Customer.DNI_CONSTRAINT)) { // Inserted by someone else after the DNI check
+                return List.of(new ImportRowResult(pending.row(), ImportRowResult.Status.DUPLICATE, null,
+                        pending.customer().getDni(), DuplicateDniException.MESSAGE));
+            }
+            return List.of(new ImportRowResult(pending.row(), ImportRowResult.Status.FAILED, null,
+                    pending.customer().getDni(), "Row rejected: " + e.getMostSpecificCause().getMessage()));
+        }
+        chunkResults.stream()
+                .filter(result -> result.getStatus() == ImportRowResult.Status.CREATED)
+                .forEach(result -> dniValidationService.registerDni(result.getDni())); // Keep the DNI filter in sync
+        chunk.stream()
+                .map(PendingRow::customer)
+                .filter(customer -> customer.getId() != null) // Assigned only to the inserted rows
+                .forEach(customerAutocomplete::index);
+        return chunkResults;
+    }
+
+    private List<ImportRowResult> insertChunk(List<PendingRow> chunk) {
+        Set<String> existingDnis = new HashSet<>(customerRepository.findExistingDnis(
+                chunk.stream().map(pending -> pending.customer().getDni()).collect(Collectors.toList())));
+        List<ImportRowResult> out = new ArrayList<>(chunk.size());
+        List<PendingRow> toInsert = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            if (existingDnis.contains(pending.customer().getDni())) {
+                out.add(new ImportRowResult(pending.row(), ImportRowResult.Status.DUPLICATE, null,
+                        pending.customer().getDni(), DuplicateDniException.MESSAGE));
+            } else {
+                toInsert.add(pending);
+            }
+        }
+        List<Customer> inserted = toInsert.stream().map(PendingRow::customer).collect(Collectors.toList());
+        customerRepository.saveAll(inserted);
+        entityManager.flush(); // Sends the pending inserts as JDBC batches
+        customerOutbox.recordAll(CustomerChangeEvent.Type.CREATED, inserted); // Same transaction as the rows
+        entityManager.clear(); // Keeps the persistence context from growing across chunks
+        for (PendingRow pending : toInsert) {
+            out.add(new ImportRowResult(pending.row(), ImportRowResult.Status.CREATED, pending.customer().getId(),
+                    pending.customer().getDni(), null));
+        }
+        return out;
+    }
+
+    private static String describe(Set<ConstraintViolation<Customer>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * A validated row waiting to be inserted with the rest of its chunk.
+     */
+    private record PendingRow(int row, Customer customer) {
+    }
+}
@@ -1,36 +1,109 @@
 package com.example.customer.service.impl;
 
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerChangeFeed;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.dto.CustomerSearchCriteria;
+import com.example.customer.mapper.CustomerMapper;
 import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.outbox.CustomerOutbox;
 import com.example.customer.repository.CustomerRepository;
+import com.example.customer.repository.CustomerSearchOrder;
+import com.example.customer.repository.CustomerSpecifications;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.util.CursorCodec;
 import com.example.customer.service.AccountValidationService;
 import com.example.customer.service.CustomerService;
+import com.example.customer.service.CustomerVersionMismatchException;
 import com.example.customer.service.DniValidationService;
+import com.example.customer.service.DuplicateDniException;
+import com.example.customer.util.ConstraintViolations;
+import com.example.customer.util.KeyedLocks;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * CustomerServiceImpl provides the implementation of the business logic for managing customers.
  * It performs CRUD operations and ensures the uniqueness of the customer's DNI.
+ *
+ * Every operation is timed under "customer.service" (tagged by method) with a percentile histogram.
+ * Writes record a change event in the outbox within their transaction; in-memory structures (cache,
+ * DNI filter, autocomplete index) are updated only once that transaction has committed.
+ * Creates and updates holding the same DNI run one at a time on this instance, so the second one finds
+ * the DNI taken before writing anything; across instances the unique index of the dni column decides.
  */
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository; // Repository for accessing customer data
     private final DniValidationService dniValidationService;
     private final AccountValidationService accountValidationService;
+    private final EntityManager entityManager; // Detaches streamed customers and reads and evicts entity cache entries
+    private final CustomerResponseCache customerResponseCache;
+    private final CustomerAutocomplete customerAutocomplete;
+    private final CustomerOutbox customerOutbox;
+    private final TransactionOperations transactionOperations; // Keeps remote calls and cache updates out of write transactions
+    private final KeyedLocks<String> dniLocks = new KeyedLocks<>();
+    private final Counter createDniConflicts;
+    private final Counter updateDniConflicts;
+    private final Counter blockedDeletes;
+
     /**
      * Constructor to initialize CustomerServiceImpl with required dependencies.
      *
      * @param customerRepository Repository for managing customer data.
      */
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository, DniValidationService dniValidationService, AccountValidationService accountValidationService) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, DniValidationService dniValidationService,
+                               AccountValidationService accountValidationService, EntityManager entityManager,
+                               CustomerResponseCache customerResponseCache, CustomerAutocomplete customerAutocomplete,
+                               CustomerOutbox customerOutbox, TransactionOperations transactionOperations,
+                               MeterRegistry meterRegistry) {
         this.customerRepository = customerRepository;
         this.dniValidationService = dniValidationService;
         this.accountValidationService = accountValidationService;
+        this.entityManager = entityManager;
+        this.customerResponseCache = customerResponseCache;
+        this.customerAutocomplete = customerAutocomplete;
+        this.customerOutbox = customerOutbox;
+        this.transactionOperations = transactionOperations;
+        this.createDniConflicts = dniConflictCounter(meterRegistry, "create");
+        this.updateDniConflicts = dniConflictCounter(meterRegistry, "update");
+        this.blockedDeletes = Counter.builder("customer.delete.blocked")
+                .description("Deletes refused because the customer still has bank accounts")
+                .register(meterRegistry);
+        FunctionCounter.builder("customer.dni.lock.waits", dniLocks, KeyedLocks::contendedAcquisitions)
+                .description("Creates and updates that waited for another one holding the same DNI")
+                .register(meterRegistry);
     }
 
     /**
@@ -38,25 +111,146 @@ public class CustomerServiceImpl implements CustomerService {
      *
      * @param customer The customer to be created.
      * @return The created customer.
-     * @throws IllegalArgumentException If a customer with the same DNI already exists.
+     * @throws DuplicateDniException If a customer with the same DNI already exists.
      */
     @Override
+    @Timed(value = "customer.service", histogram = true)
     public Customer createCustomer(Customer customer) {
-        // Check if a customer with the same DNI already exists
-        if (!dniValidationService.isUnique(customer.getDni())) {
-            throw new IllegalArgumentException("A customer with this DNI already exists."); // Ensure DNI uniqueness
+        Customer savedCustomer = dniLocks.withLock(customer.getDni(), () -> {
+            // Check if a customer with the same DNI already exists; the filter answers most checks without a query
+            if (!dniValidationService.isUnique(customer.getDni())) {
+                createDniConflicts.increment();
+                throw new DuplicateDniException(); // Ensure DNI uniqueness
+            }
+            Customer saved = transactionOperations.execute(status -> {
+                Customer inserted = customerRepository.save(customer); // Save the new customer
+                customerOutbox.record(CustomerChangeEvent.Type.CREATED, inserted);
+                return inserted;
+            });
+            dniValidationService.registerDni(saved.getDni()); // Before the lock is released, so the next check sees it
+            return saved;
+        });
+        customerAutocomplete.index(savedCustomer);
+        return savedCustomer;
+    }
+
+    /**
+     * Retrieves a page of customers as response DTOs using keyset pagination on the ID.
+     *
+     * @param afterId The ID of the last customer already seen, or null to start from the beginning.
+     * @param limit   The maximum number of customers to return.
+     * @return The customers whose ID is greater than afterId, in ascending ID order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
+    public List<CustomerResponse> getCustomersAfter(Long afterId, int limit) {
+        return customerRepository.findResponsesByIdGreaterThan(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Streams every customer to the given consumer inside a read-only transaction.
+     * Each customer is detached once consumed, so the persistence context never holds more than one row.
+     *
+     * @param consumer The action applied to each customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
+    public void streamAllCustomers(Consumer<Customer> consumer) {
+        try (Stream<Customer> customers = customerRepository.streamAllByOrderByIdAsc()) {
+            customers.forEach(customer -> {
+                consumer.accept(customer);
+                entityManager.detach(customer); // Release the row so heap use stays flat
+            });
+        }
+    }
+
+    /**
+     * Searches customers by DNI prefix, first/last name prefix and exact email.
+     * Every criterion maps to an indexed column; the results are sorted by the index of the most
+     * selective one, so each page is a short, ordered index range scan. Blank criteria are ignored.
+     *
+     * @param criteria The search criteria; at least one must be set.
+     * @param cursor   The cursor returned by the previous page, or null for the first page.
+     * @param limit    The maximum number of customers to return.
+     * @return The page of matching customers and the cursor of the next page.
+     * @throws IllegalArgumentException If no criterion is set, the DNI prefix is not numeric or the cursor is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
+    public CustomerPage searchCustomers(CustomerSearchCriteria criteria, String cursor, int limit) {
+        List<Specification<Customer>> filters = new ArrayList<>();
+        CustomerSearchOrder order = null;
+        // Checked from least to most selective, so the last criterion set decides the order
+        if (hasText(criteria.getFirstNamePrefix())) {
+            filters.add(CustomerSpecifications.firstNameStartsWith(criteria.getFirstNamePrefix().trim()));
+            order = CustomerSearchOrder.FIRST_NAME;
+        }
+        if (hasText(criteria.getLastNamePrefix())) {
+            filters.add(CustomerSpecifications.lastNameStartsWith(criteria.getLastNamePrefix().trim()));
+            order = CustomerSearchOrder.LAST_NAME;
+        }
+        if (hasText(criteria.getDniPrefix())) {
+            if (!criteria.getDniPrefix().chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("DNI prefix must contain only numbers."); // No DNI could match
+            }
+            filters.add(CustomerSpecifications.dniStartsWith(criteria.getDniPrefix()));
+            order = CustomerSearchOrder.DNI;
+        }
+        if (hasText(criteria.getEmail())) {
+            filters.add(CustomerSpecifications.emailEquals(criteria.getEmail().trim()));
+            order = CustomerSearchOrder.EMAIL;
         }
-        return customerRepository.save(customer); // Save and return the new customer
+        if (order == null) {
+            throw new IllegalArgumentException("At least one search criterion (dni, firstName, lastName, email) is required.");
+        }
+        CursorCodec.Position position = CursorCodec.decodePosition(cursor);
+        if (position != null) {
+            filters.add(order.after(position.value(), position.id()));
+        }
+        // Fetch one extra row to know whether another page exists
+        List<Customer> customers = customerRepository.findFirstMatching(Specification.allOf(filters), order, limit + 1);
+        boolean hasNext = customers.size() > limit;
+        List<CustomerResponse> content = customers.stream()
+                .limit(limit)
+                .map(CustomerMapper::toResponseDto)
+                .toList();
+        Customer last = hasNext ? customers.get(limit - 1) : null;
+        String next = last == null ? null : CursorCodec.encode(order.valueOf(last), last.getId());
+        return new CustomerPage(content, next);
     }
 
     /**
-     * Retrieves all customers from the database.
+     * Suggests customers from the in-memory index, or from one indexed search when it is unavailable.
      *
-     * @return A list of all customers.
+     * @param query The text typed so far.
+     * @param limit The maximum number of customers to return.
+     * @return The suggested customers.
      */
     @Override
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll(); // Fetch and return all customers
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
+    public List<CustomerResponse> autocompleteCustomers(String query, int limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        return customerAutocomplete.suggest(trimmed, limit).orElseGet(() -> {
+            CustomerSearchCriteria criteria;
+            int space = trimmed.indexOf(' ');
+            if (space > 0) {
+                criteria = new CustomerSearchCriteria(null, trimmed.substring(0, space), trimmed.substring(space + 1), null);
+            } else if (trimmed.chars().allMatch(Character::isDigit)) {
+                criteria = new CustomerSearchCriteria(trimmed, null, null, null);
+            } else if (trimmed.indexOf('@') > 0) {
+                criteria = new CustomerSearchCriteria(null, null, null, trimmed);
+            } else {
+                criteria = new CustomerSearchCriteria(null, null, trimmed, null);
+            }
+            return searchCustomers(criteria, null, limit).getContent();
+        });
     }
 
     /**
@@ -66,55 +260,251 @@ public class CustomerServiceImpl implements CustomerService {
      * @return An Optional containing the customer if found, or empty if not found.
      */
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
     public Optional<Customer> getCustomerById(Long id) {
         return customerRepository.findById(id); // Fetch a customer by their ID
     }
 
     /**
-     * Updates an existing customer.
+     * Retrieves a customer by their ID through the read-through cache.
+     * On a miss the customer is taken from the entity cache when it holds it, which needs no query,
+     * and otherwise projected straight into the response DTO.
+     *
+     * @param id The ID of the customer to retrieve.
+     * @return An Optional containing the customer if found, or empty if not found.
+     */
+    @Override
+    @Timed(value = "customer.service", histogram = true)
+    public Optional<CustomerResponse> getCustomerResponseById(Long id) {
+        // Loaded in a read-write transaction so it comes from the primary: a lagging replica would put back
+        // the version an update has just invalidated
+        return customerResponseCache.get(id, key -> transactionOperations.execute(status ->
+                entityManager.getEntityManagerFactory().getCache().contains(Customer.class, key)
+                        ? customerRepository.findById(key).map(CustomerMapper::toResponseDto)
+                        : customerRepository.findResponseById(key)));
+    }
+
+    /**
+     * Retrieves many customers at once, checking the ID cache before the database.
+     *
+     * @param ids  The IDs to look up.
+     * @param dnis The DNIs to look up.
+     * @return The customers found, each listed once, and the keys that matched no customer.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "customer.service", histogram = true)
+    public BatchGetResponse getCustomersByIdsAndDnis(Collection<Long> ids, Collection<String> dnis) {
+        Set<Long> requestedIds = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        Set<String> requestedDnis = dnis == null ? Set.of() : new LinkedHashSet<>(dnis);
+        Map<Long, CustomerResponse> found = new LinkedHashMap<>();
+        Set<Long> uncachedIds = new LinkedHashSet<>();
+        for (Long id : requestedIds) {
+            customerResponseCache.getIfPresent(id)
+                    .ifPresentOrElse(customer -> found.put(id, customer), () -> uncachedIds.add(id));
+        }
+        if (!uncachedIds.isEmpty()) {
+            customerRepository.findAllById(uncachedIds)
+                    .forEach(customer -> found.put(customer.getId(), CustomerMapper.toResponseDto(customer)));
+        }
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            if (!found.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        Set<String> foundDnis = new LinkedHashSet<>();
+        if (!requestedDnis.isEmpty()) {
+            for (Customer customer : customerRepository.findAllByDniIn(requestedDnis)) {
+                foundDnis.add(customer.getDni());
+                found.putIfAbsent(customer.getId(), CustomerMapper.toResponseDto(customer));
+            }
+        }
+        List<String> missingDnis = new ArrayList<>(requestedDnis);
+        missingDnis.removeAll(foundDnis);
+        return new BatchGetResponse(new ArrayList<>(found.values()), missingIds, missingDnis);
+    }
+
+    /**
+     * Updates an existing customer. A customer held in the entity cache is loaded from it and flushed as
+     * an entity, which costs only the UPDATE and keeps both cache regions current. Any other customer is
+     * updated with a single UPDATE by ID instead of a SELECT followed by the UPDATE; only its own entity
+     * cache entry is evicted afterwards. Either way the UPDATE checks and increments the version, so a
+     * concurrent update committed in between is detected instead of overwritten. A single UPDATE leaves a
+     * DNI taken by another customer to the unique index of the dni column, and learns the new version
+     * only from the expected one.
      *
-     * @param id       The ID of the customer to update.
-     * @param customer The updated customer details.
-     * @return The updated customer.
-     * @throws IllegalArgumentException If the customer is not found or if a different customer with the same DNI exists.
+     * @param id              The ID of the customer to update.
+     * @param customer        The updated customer details.
+     * @param expectedVersion The version the caller based the update on, or null to skip the check.
+     * @return The updated customer; its version is null when no version was expected and the customer
+     *         was not cached.
+     * @throws IllegalArgumentException         If the customer is not found.
+     * @throws DuplicateDniException            If the new DNI belongs to a different cached customer.
+     * @throws DataIntegrityViolationException  If the new DNI belongs to a different customer in the database.
+     * @throws CustomerVersionMismatchException If the customer is not at the expected version.
      */
     @Override
-    public Customer updateCustomer(Long id, Customer customer) {
-        return customerRepository.findById(id)
-                .map(existingCustomer -> {
-                    // Check if a different customer with the same DNI exists
-                    if (!existingCustomer.getDni().equals(customer.getDni()) &&
-                            !dniValidationService.isUnique(customer.getDni())) {
-                        throw new IllegalArgumentException("A customer with this DNI already exists."); // Ensure DNI uniqueness
-                    }
-                    // Update customer details
-                    existingCustomer.setFirstName(customer.getFirstName());
-                    existingCustomer.setLastName(customer.getLastName());
-                    existingCustomer.setDni(customer.getDni());
-                    existingCustomer.setEmail(customer.getEmail());
-                    return customerRepository.save(existingCustomer); // Save updated customer
-                })
+    @Timed(value = "customer.service", histogram = true)
+    public Customer updateCustomer(Long id, Customer customer, Long expectedVersion) {
+        Cache entityCache = entityManager.getEntityManagerFactory().getCache();
+        Customer savedCustomer;
+        try {
+            savedCustomer = dniLocks.withLock(customer.getDni(), () -> {
+                Update update;
+                if (entityCache.contains(Customer.class, id)) {
+                    update = executeRetryingFromDatabase(id, status -> updateLoaded(id, customer, expectedVersion));
+                } else {
+                    update = transactionOperations.execute(status -> updateById(id, customer, expectedVersion));
+                    entityCache.evict(Customer.class, id); // Another request may have cached the old row meanwhile
+                }
+                // Before the lock is released, so the next check sees it
+                dniValidationService.registerUpdatedDni(update.previousDni(), update.customer().getDni());
+                return update.customer();
+            });
+        } catch (DuplicateDniException e) {
+            updateDniConflicts.increment();
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isUniqueViolation(e, Customer.DNI_CONSTRAINT)) {
+                updateDniConflicts.increment();
+            }
+            throw e;
+        }
+        customerResponseCache.invalidate(id); // Drop the stale cached copy
+        customerAutocomplete.index(savedCustomer);
+        return savedCustomer;
+    }
+
+    private Update updateLoaded(Long id, Customer customer, Long expectedVersion) {
+        Customer existingCustomer = customerRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with ID: " + id)); // Handle customer not found
+        if (expectedVersion != null && !expectedVersion.equals(existingCustomer.getVersion())) {
+            throw new CustomerVersionMismatchException("Customer " + id + " is at version "
+                    + existingCustomer.getVersion() + ", not " + expectedVersion + ".");
+        }
+        String previousDni = existingCustomer.getDni();
+        if (!customer.getDni().equals(previousDni) && !dniValidationService.isUnique(customer.getDni())) {
+            throw new DuplicateDniException(); // Checked before writing; the unique index still guards other instances
+        }
+        // Update customer details
+        existingCustomer.setFirstName(customer.getFirstName());
+        existingCustomer.setLastName(customer.getLastName());
+        existingCustomer.setDni(customer.getDni());
+        existingCustomer.setEmail(customer.getEmail());
+        // Flushed here, so a DNI taken on another instance fails on the unique index before the event is recorded
+        Customer savedCustomer = customerRepository.saveAndFlush(existingCustomer);
+        customerOutbox.record(CustomerChangeEvent.Type.UPDATED, savedCustomer);
+        return new Update(savedCustomer, previousDni);
     }
 
+    private Update updateById(Long id, Customer customer, Long expectedVersion) {
+        int updated = customerRepository.updateCustomerById(id, customer.getFirstName(), customer.getLastName(),
+                customer.getDni(), customer.getEmail(), expectedVersion);
+        if (updated == 0) {
+            // Only failures pay for a second query, to tell a stale version from a missing customer
+            if (expectedVersion != null && customerRepository.existsById(id)) {
+                throw new CustomerVersionMismatchException("Customer " + id + " is not at version " + expectedVersion + ".");
+            }
+            throw new IllegalArgumentException("Customer not found with ID: " + id); // Handle customer not found
+        }
+        Customer savedCustomer = new Customer(customer.getFirstName(), customer.getLastName(), customer.getDni(),
+                customer.getEmail());
+        savedCustomer.setId(id);
+        savedCustomer.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+        customerOutbox.record(CustomerChangeEvent.Type.UPDATED, savedCustomer);
+        return new Update(savedCustomer, null); // The previous DNI was not read
+    }
+
+    /**
+     * An updated customer and the DNI it had before, or null when the update did not read it.
+     */
+    private record Update(Customer customer, String previousDni) {
+    }
 
     /**
-     * Deletes a customer if they have no active bank accounts.
+     * Deletes a customer if they have no active bank accounts. A customer held in the entity cache is
+     * loaded from it and deleted as an entity, which costs only the DELETE and updates both cache regions.
+     * Any other customer is deleted with a single DELETE by ID instead of a SELECT followed by the DELETE;
+     * only its own entity cache entry is evicted afterwards.
      *
      * @param id The ID of the customer to delete.
      * @return true if the customer was deleted; false otherwise.
      * @throws IllegalStateException If the customer has active bank accounts.
      */
     @Override
+    @Timed(value = "customer.service", histogram = true)
     public boolean deleteCustomer(Long id) {
         if (!accountValidationService.canDeleteCustomer(id)) {
+            blockedDeletes.increment();
             throw new IllegalStateException("Customer has active bank accounts and cannot be deleted."); // Ensure no active bank accounts
         }
-        return customerRepository.findById(id)
-                .map(customer -> {
-                    customerRepository.delete(customer); // Delete the customer
-                    return true; // Return success
-                })
-                .orElse(false); // Return false if the customer is not found
+        Cache entityCache = entityManager.getEntityManagerFactory().getCache();
+        boolean deleted;
+        if (entityCache.contains(Customer.class, id)) {
+            deleted = Boolean.TRUE.equals(executeRetryingFromDatabase(id, status -> customerRepository.findById(id)
+                    .map(customer -> {
+                        customerRepository.delete(customer); // Delete the customer
+                        customerOutbox.recordDeletion(id);
+                        return true;
+                    })
+                    .orElse(false))); // The customer is not found
+        } else {
+            deleted = Boolean.TRUE.equals(transactionOperations.execute(status -> {
+                if (customerRepository.deleteCustomerById(id) == 0) {
+                    return false; // The customer is not found
+                }
+                customerOutbox.recordDeletion(id);
+                return true;
+            }));
+            // Another request may have cached the customer meanwhile. A DNI cache entry left behind
+            // resolves to no customer, so DNI lookups and checks still see the DNI as free.
+            entityCache.evict(Customer.class, id);
+        }
+        if (deleted) {
+            customerResponseCache.invalidate(id); // Drop the stale cached copy
+            dniValidationService.unregisterDni(); // Keep the DNI filter in sync
+            customerAutocomplete.remove(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * Runs a write transaction on a customer, and runs it once more if it failed on the version. The first
+     * run may have read the customer from this instance's entity cache, which does not see writes made by
+     * other instances; the second one reads it from the database, so a real conflict fails again.
+     */
+    private <T> T executeRetryingFromDatabase(Long id, TransactionCallback<T> write) {
+        try {
+            return transactionOperations.execute(write);
+        } catch (OptimisticLockingFailureException | CustomerVersionMismatchException e) {
+            entityManager.getEntityManagerFactory().getCache().evict(Customer.class, id);
+            return transactionOperations.execute(write);
+        }
+    }
+
+    /**
+     * Reads the customer change events after the given offset from the outbox.
+     *
+     * @param since The offset returned by the previous read, or 0 to start from the oldest retained event.
+     * @param limit The maximum number of events to return.
+     * @return The events and the offset of the next read.
+     */
+    @Override
+    @Timed(value = "customer.service", histogram = true)
+    public CustomerChangeFeed getChanges(long since, int limit) {
+        return customerOutbox.readChanges(since, limit);
+    }
+
+    private static Counter dniConflictCounter(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("customer.dni.conflicts")
+                .description("Creates and updates rejected because the DNI belongs to another customer")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
     }
 }
@@ -2,19 +2,244 @@ package com.example.customer.service.impl;
 
 import com.example.customer.repository.CustomerRepository;
 import com.example.customer.service.DniValidationService;
+import com.example.customer.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Validates DNI uniqueness with an in-memory Bloom filter in front of the database.
+ * A "definitely absent" answer from the filter skips the existsByDni query; a "maybe present"
+ * answer still goes to the database. The unique constraint on Customer.dni remains the final guard.
+ */
+@Slf4j
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class DniValidationServiceImpl implements DniValidationService {
 
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final double MAX_STALE_RATIO = 0.1; // Rebuild once 10% of the indexed DNIs were removed
+
     private final CustomerRepository customerRepository;
+    private final TransactionOperations transactionOperations; // Keeps the rebuild reads on the primary
+    private final MeterRegistry meterRegistry;
+    private final boolean filterEnabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter; // Null until the first build completes; checks go to the database meanwhile
+    private volatile BloomFilter building; // Filter being rebuilt, receives concurrent registrations too
+    private volatile long filterCapacity;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock(); // Puts share it, swapping in a rebuilt filter takes it alone
+    private final AtomicLong indexedDnis = new AtomicLong();
+    private final AtomicLong staleDnis = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dni-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter definitelyAbsent;
+    private final Counter confirmedPresent;
+    private final Counter falsePositives;
+    private final Timer existsByDniTimer;
 
-    public DniValidationServiceImpl(CustomerRepository customerRepository) {
+    public DniValidationServiceImpl(CustomerRepository customerRepository, TransactionOperations transactionOperations,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${customer.dni-filter.enabled:true}") boolean filterEnabled,
+                                    @Value("${customer.dni-filter.expected-insertions:5000000}") long expectedInsertions,
+                                    @Value("${customer.dni-filter.false-positive-rate:0.01}") double falsePositiveRate) {
         this.customerRepository = customerRepository;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.filterEnabled = filterEnabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filterCapacity = expectedInsertions;
+        this.definitelyAbsent = lookupCounter(meterRegistry, "definitely_absent");
+        this.confirmedPresent = lookupCounter(meterRegistry, "present");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+        this.existsByDniTimer = Timer.builder("customer.repository.exists.by.dni")
+                .description("Latency of the existsByDni query")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers the filter gauges once the service is constructed, as they hold a reference to it.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("customer.dni.filter.expected.fpp", this,
+                        service -> service.filter == null ? Double.NaN : service.filter.expectedFalsePositiveRate())
+                .description("Estimated false-positive rate of the DNI Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("customer.dni.filter.memory", this,
+                        service -> service.filter == null ? 0 : service.filter.memoryBytes())
+                .description("Memory held by the DNI Bloom filter")
+                .baseUnit("bytes")
+                .register(meterRegistry);
     }
 
     @Override
     public boolean isUnique(String dni) {
-        return !customerRepository.existsByDni(dni);
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(dni)) {
+            definitelyAbsent.increment();
+            return true; // Definitely absent, no database round trip needed
+        }
+        boolean exists = existsByDniTimer.record(() -> customerRepository.existsByDni(dni));
+        if (current != null) {
+            (exists ? confirmedPresent : falsePositives).increment();
+        }
+        return !exists;
+    }
+
+    @Override
+    public void registerDni(String dni) {
+        put(dni);
+        if (indexedDnis.incrementAndGet() > filterCapacity) {
+            scheduleRebuild(); // Grow the filter before its false-positive rate degrades
+        }
+    }
+
+    @Override
+    public void registerUpdatedDni(String previousDni, String dni) {
+        boolean changed;
+        if (previousDni != null) {
+            changed = !previousDni.equals(dni);
+        } else {
+            BloomFilter current = filter;
+            // A DNI the filter has never seen means the update replaced the previous one
+            changed = current == null || !current.mightContain(dni);
+        }
+        if (changed) {
+            registerDni(dni);
+            unregisterDni();
+        } else {
+            put(dni); // Still reaches a filter being rebuilt
+        }
+    }
+
+    @Override
+    public void unregisterDni() {
+        unregisterDnis(1);
+    }
+
+    @Override
+    public void unregisterDnis(int count) {
+        // Bloom filters cannot remove entries; the stale bit only costs an extra database check
+        if (staleDnis.addAndGet(count) > Math.max(REBUILD_BATCH_SIZE, indexedDnis.get() * MAX_STALE_RATIO)) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Builds the filter from the customers table once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Rebuilds the filter in the background unless a rebuild is already running.
+     */
+    public void scheduleRebuild() {
+        if (filterEnabled && rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Could not rebuild the DNI filter; uniqueness checks keep using the database", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads every DNI from the primary in keyset pages and swaps in a freshly built filter.
+     * Each page is read in its own read-write transaction: read-only ones go to the replicas, which may
+     * lag behind DNIs registered since the rebuild started.
+     */
+    public void rebuild() {
+        long capacity = Math.max(expectedInsertions, indexedDnis.get() * 2);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        building = next;
+        long afterId = 0;
+        long count = 0;
+        List<CustomerRepository.DniView> page;
+        do {
+            long pageAfterId = afterId;
+            page = transactionOperations.execute(status ->
+                    customerRepository.findDnisByIdGreaterThanOrderByIdAsc(pageAfterId, Limit.of(REBUILD_BATCH_SIZE)));
+            for (CustomerRepository.DniView view : page) {
+                next.put(view.getDni());
+                afterId = view.getId();
+            }
+            count += page.size();
+        } while (page.size() == REBUILD_BATCH_SIZE);
+        swapLock.writeLock().lock();
+        try {
+            // No put can be between reading the old filter and reading building, or its DNI would be lost
+            filterCapacity = capacity;
+            filter = next;
+            building = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        indexedDnis.set(count);
+        staleDnis.set(0);
+        log.info("DNI filter built with {} entries ({} bytes)", count, next.memoryBytes());
+    }
+
+    private void put(String dni) {
+        swapLock.readLock().lock();
+        try {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(dni);
+            }
+            BloomFilter next = building;
+            if (next != null) {
+                next.put(dni);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.dni.filter.lookups")
+                .description("DNI uniqueness checks by Bloom filter outcome")
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,132 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.client.BankAccountClient;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerRow;
+import com.example.customer.repository.ReactiveCustomerIdAllocator;
+import com.example.customer.repository.ReactiveCustomerRepository;
+import com.example.customer.service.DuplicateDniException;
+import com.example.customer.service.ReactiveCustomerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ReactiveCustomerServiceImpl implements the customer operations on R2DBC without blocking.
+ * Business rules match {@link CustomerServiceImpl}: DNIs are unique and customers with
+ * active bank accounts cannot be deleted.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final ReactiveCustomerIdAllocator idAllocator;
+    private final R2dbcEntityTemplate entityTemplate; // Used for inserts, since rows carry a pre-allocated ID
+    private final TransactionalOperator transactionalOperator;
+    private final BankAccountClient bankAccountClient;
+
+    public ReactiveCustomerServiceImpl(ReactiveCustomerRepository customerRepository, ReactiveCustomerIdAllocator idAllocator,
+                                       R2dbcEntityTemplate entityTemplate, TransactionalOperator reactiveTransactionalOperator,
+                                       BankAccountClient bankAccountClient) {
+        this.customerRepository = customerRepository;
+        this.idAllocator = idAllocator;
+        this.entityTemplate = entityTemplate;
+        this.transactionalOperator = reactiveTransactionalOperator;
+        this.bankAccountClient = bankAccountClient;
+    }
+
+    @Override
+    public Mono<Customer> createCustomer(Customer customer) {
+        Mono<Customer> create = customerRepository.existsByDni(customer.getDni())
+                .flatMap(exists -> exists
+                        ? Mono.error(new DuplicateDniException())
+                        : idAllocator.nextId())
+                .flatMap(id -> entityTemplate.insert(CustomerMapper.toRow(id, customer)))
+                .map(CustomerMapper::fromRow);
+        return transactionalOperator.transactional(create);
+    }
+
+    @Override
+    public Flux<Customer> getCustomersAfter(Long afterId, int limit) {
+        return customerRepository.findPageAfter(afterId == null ? 0L : afterId, limit).map(CustomerMapper::fromRow);
+    }
+
+    @Override
+    public Flux<Customer> streamAllCustomers() {
+        return customerRepository.findAllByOrderByIdAsc().map(CustomerMapper::fromRow);
+    }
+
+    @Override
+    public Mono<Customer> getCustomerById(Long id) {
+        return customerRepository.findById(id).map(CustomerMapper::fromRow);
+    }
+
+    @Override
+    public Mono<BatchGetResponse> getCustomersByIdsAndDnis(Collection<Long> ids, Collection<String> dnis) {
+        Set<Long> requestedIds = ids == null ? Set.of() : new LinkedHashSet<>(ids);
+        Set<String> requestedDnis = dnis == null ? Set.of() : new LinkedHashSet<>(dnis);
+        Mono<List<Customer>> byId = requestedIds.isEmpty() ? Mono.just(List.of())
+                : customerRepository.findAllById(requestedIds).map(CustomerMapper::fromRow).collectList();
+        Mono<List<Customer>> byDni = requestedDnis.isEmpty() ? Mono.just(List.of())
+                : customerRepository.findAllByDniIn(requestedDnis).map(CustomerMapper::fromRow).collectList();
+        return Mono.zip(byId, byDni).map(results -> {
+            Map<Long, CustomerResponse> found = new LinkedHashMap<>();
+            results.getT1().forEach(customer -> found.put(customer.getId(), CustomerMapper.toResponseDto(customer)));
+            List<Long> missingIds = new ArrayList<>();
+            for (Long id : requestedIds) {
+                if (!found.containsKey(id)) {
+                    missingIds.add(id);
+                }
+            }
+            List<String> missingDnis = new ArrayList<>(requestedDnis);
+            for (Customer customer : results.getT2()) {
+                missingDnis.remove(customer.getDni());
+                found.putIfAbsent(customer.getId(), CustomerMapper.toResponseDto(customer));
+            }
+            return new BatchGetResponse(new ArrayList<>(found.values()), missingIds, missingDnis);
+        });
+    }
+
+    @Override
+    public Mono<Customer> updateCustomer(Long id, Customer customer) {
+        Mono<Customer> update = customerRepository.findById(id)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Customer not found with ID: " + id)))
+                .flatMap(existing -> (existing.getDni().equals(customer.getDni())
+                        ? Mono.just(false)
+                        : customerRepository.existsByDni(customer.getDni()))
+                        .flatMap(dniTaken -> {
+                            if (dniTaken) {
+                                return Mono.error(new DuplicateDniException());
+                            }
+                            CustomerRow row = CustomerMapper.toRow(id, customer);
+                            row.setVersion(existing.getVersion()); // Saved only if no one updated the row since it was read
+                            return customerRepository.save(row);
+                        }))
+                .map(CustomerMapper::fromRow);
+        return transactionalOperator.transactional(update);
+    }
+
+    @Override
+    public Mono<Boolean> deleteCustomer(Long id) {
+        return bankAccountClient.hasBankAccountsAsync(id)
+                .flatMap(hasAccounts -> hasAccounts
+                        ? Mono.error(new IllegalStateException("Customer has active bank accounts and cannot be deleted."))
+                        : customerRepository.deleteCustomerById(id))
+                .map(deleted -> deleted > 0);
+    }
+}
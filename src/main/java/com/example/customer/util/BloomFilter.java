@@ -0,0 +1,125 @@
+package com.example.customer.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * Answers "definitely absent" or "maybe present"; it never produces false negatives
+ * for values that were added. Values cannot be removed, so callers rebuild the filter
+ * when too many stale entries accumulate.
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words; // Bit array packed into 64-bit words, updated with CAS
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the expected number of insertions and target false-positive rate.
+     *
+     * @param expectedInsertions The number of values the filter is expected to hold.
+     * @param falsePositiveRate  The target false-positive probability, between 0 and 1 (exclusive).
+     * @throws IllegalArgumentException If the arguments are out of range.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1.");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitSize = (long) wordCount * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value The value to add.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            setBit(index(h1, h2, i));
+        }
+    }
+
+    /**
+     * Checks whether a value might have been added to the filter.
+     *
+     * @param value The value to check.
+     * @return False if the value was definitely never added; true if it may have been added.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = index(h1, h2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of bits set.
+     *
+     * @return The estimated false-positive rate.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * @return The memory held by the bit array, in bytes.
+     */
+    public long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private long index(long h1, long h2, int i) {
+        return Math.floorMod(h1 + i * h2, bitSize); // Kirsch-Mitzenmacher double hashing
+    }
+
+    private void setBit(long bit) {
+        int wordIndex = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = words.get(wordIndex);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(wordIndex, current, current | mask));
+        bitsSet.incrementAndGet();
+    }
+
+    /**
+     * 64-bit FNV-1a hash followed by a Murmur3 finalizer to spread the bits.
+     */
+    private static long hash(String value) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
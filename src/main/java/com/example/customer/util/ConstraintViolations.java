@@ -0,0 +1,69 @@
+package com.example.customer.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Recognizes unique constraint violations across the JPA and R2DBC stacks and the supported databases.
+ */
+public final class ConstraintViolations {
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505"; // Standard SQL state, used by H2
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062; // MySQL reports 23000 for every integrity violation
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Checks whether the exception, or any of its causes, reports a duplicate key.
+     *
+     * @param exception The exception thrown by a write.
+     * @return True if a unique constraint or index rejected the write.
+     */
+    public static boolean isUniqueViolation(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && (UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())
+                    || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the exception reports a duplicate key on the given unique constraint.
+     * The databases name the violated constraint, or its index, only in their messages, so the name is looked
+     * for in the messages of the exception and its causes.
+     *
+     * @param exception      The exception thrown by a write.
+     * @param constraintName The name of the unique constraint, in any case.
+     * @return True if that constraint rejected the write.
+     */
+    public static boolean isUniqueViolation(Throwable exception, String constraintName) {
+        if (!isUniqueViolation(exception)) {
+            return false;
+        }
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.customer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used for keyset pagination.
+ * A cursor wraps the ID of the last customer returned in a page, optionally preceded by the value
+ * of the column the page is sorted by.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the given ID as an opaque, URL-safe cursor.
+     *
+     * @param lastId The ID of the last customer in the current page.
+     * @return The cursor token.
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(Long)}.
+     *
+     * @param cursor The cursor token, may be null or blank.
+     * @return The ID of the last customer seen, or null if no cursor was given.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes a position in a list sorted by (value, id) as an opaque, URL-safe cursor.
+     *
+     * @param value  The sort column value of the last customer in the current page.
+     * @param lastId The ID of the last customer in the current page.
+     * @return The cursor token.
+     */
+    public static String encode(String value, Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lastId + ":" + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(String, Long)}.
+     *
+     * @param cursor The cursor token, may be null or blank.
+     * @return The position of the last customer seen, or null if no cursor was given.
+     * @throws IllegalArgumentException If the cursor is malformed.
+     */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':'); // The ID never contains ':', the value may
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Position(decoded.substring(separator + 1), Long.valueOf(decoded.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Position of the last customer returned in a page sorted by (value, id).
+     */
+    public record Position(String value, Long id) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.customer.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * One lock per key, created when first needed and dropped once no thread holds or waits for it.
+ * Actions on the same key run one at a time; actions on different keys never wait for each other,
+ * unlike a fixed table of lock stripes shared through hashing. Memory is bounded by the keys in use.
+ * Uses ReentrantLock rather than synchronized, so waiting virtual threads do not pin their carrier.
+ *
+ * @param <K> The key type; keys must not be null.
+ */
+public final class KeyedLocks<K> {
+
+    private final ConcurrentHashMap<K, Entry> locks = new ConcurrentHashMap<>();
+    private final AtomicLong contendedAcquisitions = new AtomicLong();
+
+    /**
+     * Runs the action while holding the lock of the key.
+     *
+     * @param key    The key to lock.
+     * @param action The action to run.
+     * @return The result of the action.
+     */
+    public <T> T withLock(K key, Supplier<T> action) {
+        // Counted under the map's per-key lock, so an entry is never dropped while a thread is about to use it
+        Entry entry = locks.compute(key, (k, existing) -> {
+            Entry current = existing == null ? new Entry() : existing;
+            current.users++;
+            return current;
+        });
+        if (!entry.lock.tryLock()) {
+            contendedAcquisitions.incrementAndGet();
+            entry.lock.lock();
+        }
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            locks.computeIfPresent(key, (k, existing) -> --existing.users == 0 ? null : existing);
+        }
+    }
+
+    /**
+     * @return The keys currently locked or waited for.
+     */
+    public int lockedKeys() {
+        return locks.size();
+    }
+
+    /**
+     * @return How many times a thread had to wait for a key another thread held.
+     */
+    public long contendedAcquisitions() {
+        return contendedAcquisitions.get();
+    }
+
+    private static final class Entry {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users; // Threads holding or waiting for the lock; only changed inside the map's compute methods
+    }
+}
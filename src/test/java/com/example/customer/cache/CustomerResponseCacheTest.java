@@ -0,0 +1,73 @@
+package com.example.customer.cache;
+
+import com.example.customer.dto.CustomerResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testGet_SecondLookupIsServedFromCache() {
+        // Arrange
+        CustomerResponseCache cache = new CustomerResponseCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+
+        // Act
+        cache.get(1L, this::load);
+        Optional<CustomerResponse> result = cache.get(1L, this::load);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(1, loads.get(), "Expected a single load for two lookups");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customers.by-id").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testInvalidate_ForcesReload() {
+        // Arrange
+        CustomerResponseCache cache = new CustomerResponseCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+        cache.get(1L, this::load);
+
+        // Act
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+
+        // Assert
+        assertEquals(2, loads.get(), "Expected a reload after invalidation");
+    }
+
+    @Test
+    void testGet_WhenDisabled_AlwaysLoads() {
+        // Arrange
+        CustomerResponseCache cache = new CustomerResponseCache(meterRegistry, false, 100, Duration.ofMinutes(1));
+
+        // Act
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        // Assert
+        assertEquals(2, loads.get(), "Expected every lookup to load when the cache is disabled");
+    }
+
+    private Optional<CustomerResponse> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(new CustomerResponse(id, "John", "Doe", "12345678", "john.doe@example.com"));
+    }
+}
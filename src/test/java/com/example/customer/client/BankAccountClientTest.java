@@ -0,0 +1,139 @@
+package com.example.customer.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the client against a local stub of the bank account service.
+ */
+class BankAccountClientTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private DisposableServer server;
+
+    private CircuitBreaker circuitBreaker;
+
+    private BankAccountClient bankAccountClient;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/accounts/customer/{customerId}", (request, response) -> {
+                            record(request);
+                            response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+                            return switch (request.param("customerId")) {
+                                case "1" -> response.sendString(Mono.just("[{\"id\":10}]"));
+                                case "2" -> response.sendString(Mono.just("[]"));
+                                case "3" -> response.status(HttpResponseStatus.NOT_FOUND).send();
+                                case "5" -> Mono.never(); // Never answers
+                                case "6" -> response.send(); // No body
+                                default -> response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send();
+                            };
+                        })
+                        // Answers with the IDs it was sent that are odd, as the customers that have accounts
+                        .post("/api/accounts/customers/with-accounts", (request, response) -> {
+                            record(request);
+                            response.header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+                            return response.sendString(request.receive().aggregate().asString().map(body ->
+                                    Arrays.stream(body.replaceAll("[\\[\\]\\s]", "").split(","))
+                                            .filter(id -> Long.parseLong(id) % 2 == 1)
+                                            .collect(Collectors.joining(",", "[", "]"))));
+                        }))
+                .bindNow();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port() + "/api/accounts")
+                .build();
+        circuitBreaker = new CircuitBreaker(5, Duration.ofSeconds(10), 1);
+        bankAccountClient = new BankAccountClient(webClient, circuitBreaker,
+                new SimpleMeterRegistry(), Duration.ofSeconds(10)); // Generous: the first call also starts the client
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void testHasBankAccounts_ReadsTheAccountList() {
+        // Act & Assert
+        assertTrue(bankAccountClient.hasBankAccounts(1L));
+        assertFalse(bankAccountClient.hasBankAccounts(2L));
+        assertThrows(BankAccountServiceUnavailableException.class, () -> bankAccountClient.hasBankAccounts(4L));
+    }
+
+    @Test
+    void testHasBankAccounts_NotFoundOrNoBody_FailsClosed() {
+        // Act & Assert
+        assertThrows(BankAccountServiceUnavailableException.class, () -> bankAccountClient.hasBankAccounts(3L),
+                "Expected 404 not to mean no accounts");
+        assertThrows(BankAccountServiceUnavailableException.class, () -> bankAccountClient.hasBankAccounts(6L));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState()); // The service is up
+    }
+
+    @Test
+    void testFindCustomersWithBankAccounts_SendsOneRequestPerBatch() {
+        // Act
+        Set<Long> result = bankAccountClient.findCustomersWithBankAccountsAsync(List.of(1L, 2L, 3L, 4L)).block();
+
+        // Assert
+        assertEquals(Set.of(1L, 3L), result);
+        assertEquals(List.of("POST /api/accounts/customers/with-accounts"), requests);
+    }
+
+    @Test
+    void testCancelledHalfOpenProbe_ReopensBreaker() throws InterruptedException {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(10), 1, now::get);
+        bankAccountClient = new BankAccountClient(WebClient.create("http://localhost:" + server.port() + "/api/accounts"),
+                circuitBreaker, new SimpleMeterRegistry(), Duration.ofSeconds(10));
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos()); // Half-open
+
+        // Act
+        var probe = bankAccountClient.hasBankAccountsAsync(5L).subscribe();
+        for (int i = 0; i < 500 && requests.isEmpty(); i++) {
+            Thread.sleep(10); // Wait for the probe to reach the service
+        }
+        boolean whileProbing = circuitBreaker.tryAcquire();
+        probe.dispose(); // As a caller timeout or a failed sibling in a zip would
+
+        // Assert
+        assertFalse(whileProbing, "Expected only one probe while half-open");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertFalse(bankAccountClient.hasBankAccounts(2L), "Expected the next probe to go through");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private void record(HttpServerRequest request) {
+        requests.add(request.method().name() + " " + request.uri());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.customer.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(10), 1, now::get);
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire(), "Expected calls to be rejected while open");
+    }
+
+    @Test
+    void testHalfOpenProbeSuccess_ClosesBreaker() {
+        // Arrange
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        boolean probe = circuitBreaker.tryAcquire();
+        boolean secondProbe = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertTrue(probe, "Expected one probe to be allowed after the open duration");
+        assertFalse(secondProbe, "Expected only one probe while half-open");
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenProbeFailure_ReopensBreaker() {
+        // Arrange
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testHalfOpenProbeCancelled_ReopensBreaker() {
+        // Arrange
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.onCancel();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(circuitBreaker.tryAcquire(), "Expected a new probe after the open duration");
+    }
+
+    @Test
+    void testCancelWhileClosed_IsNotAFailure() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onCancel();
+        circuitBreaker.onCancel();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenProbeNeverReports_NewProbeAfterOpenDuration() {
+        // Arrange
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        circuitBreaker.tryAcquire(); // Lost: neither success, failure nor cancel is reported
+
+        // Act
+        boolean beforeTimeout = circuitBreaker.tryAcquire();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        boolean afterTimeout = circuitBreaker.tryAcquire();
+
+        // Assert
+        assertFalse(beforeTimeout);
+        assertTrue(afterTimeout, "Expected the lost probe to be written off");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+}
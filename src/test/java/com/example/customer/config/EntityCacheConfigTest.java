@@ -0,0 +1,194 @@
+package com.example.customer.config;
+
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads customers again in new persistence contexts to see which reads the second-level cache answers
+ * without going to H2, that writes through the persistence context keep it up to date, and that DNI
+ * uniqueness checks never rely on it.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:entity-cache;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Every repository call gets a new persistence context
+class EntityCacheConfigTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testFindById_RepeatedRead_ServedFromCache() {
+        // Arrange
+        double hitsBefore = cacheHits();
+
+        // Act
+        customerRepository.findById(customer.getId());
+        customerRepository.findById(customer.getId());
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount()); // Cached when it was inserted
+        assertEquals(2, statistics.getDomainDataRegionStatistics(Customer.CACHE_REGION).getHitCount());
+        assertEquals(2.0, cacheHits() - hitsBefore); // Published as cache metrics too
+    }
+
+    @Test
+    void testFindByDni_RepeatedRead_ServedFromCache() {
+        // Act
+        Optional<Customer> first = customerRepository.findByDni("12345678");
+        Optional<Customer> second = customerRepository.findByDni("12345678");
+
+        // Assert
+        assertEquals(customer.getId(), first.orElseThrow().getId());
+        assertEquals(customer.getId(), second.orElseThrow().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void testFindByDni_UnknownDni_ReadsDatabase() {
+        // Act & Assert
+        assertTrue(customerRepository.findByDni("87654321").isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testExistsByDni_AlwaysReadsDatabase() {
+        // Act
+        boolean first = customerRepository.existsByDni("12345678");
+        boolean second = customerRepository.existsByDni("12345678");
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void testExistsByDni_DniChangedBehindTheCache_SeesDatabase() {
+        // Arrange: another instance changes the DNI; this instance's caches still map the old one to the customer
+        jdbcTemplate.update("update customers set dni = '87654321', version = version + 1 where id = ?", customer.getId());
+
+        // Act & Assert
+        assertFalse(customerRepository.existsByDni("12345678"));
+        assertTrue(customerRepository.existsByDni("87654321"));
+    }
+
+    @Test
+    void testUpdate_ThroughPersistenceContext_UpdatesCache() {
+        // Arrange
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer existing = customerRepository.findById(customer.getId()).orElseThrow();
+            existing.setFirstName("Johnny");
+            existing.setDni("87654321");
+        });
+        statistics.clear();
+
+        // Act
+        Customer cached = customerRepository.findById(customer.getId()).orElseThrow();
+        Optional<Customer> byNewDni = customerRepository.findByDni("87654321");
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Johnny", cached.getFirstName());
+        assertEquals(customer.getVersion() + 1, cached.getVersion());
+        assertEquals(customer.getId(), byNewDni.orElseThrow().getId());
+        assertFalse(customerRepository.existsByDni("12345678"));
+    }
+
+    @Test
+    void testDelete_ThroughPersistenceContext_EvictsCustomer() {
+        // Arrange
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                customerRepository.delete(customerRepository.findById(customer.getId()).orElseThrow()));
+
+        // Act & Assert
+        assertTrue(customerRepository.findById(customer.getId()).isEmpty());
+        assertTrue(customerRepository.findByDni("12345678").isEmpty());
+        assertFalse(customerRepository.existsByDni("12345678"));
+    }
+
+    @Test
+    void testDisabled_TurnsSecondLevelCacheOff() {
+        // Arrange
+        Map<String, Object> properties = new HashMap<>();
+
+        // Act
+        new EntityCacheConfig().entityCacheHibernateProperties(new StaticListableBeanFactory().getBeanProvider(CacheManager.class))
+                .customize(properties);
+
+        // Assert
+        assertEquals(false, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", Customer.CACHE_REGION).tag("result", "hit")
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.customer.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerformanceSettingsValidatorTest {
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+    }
+
+    @Test
+    void testDefaults_TomcatThreadsOutnumberPool() {
+        // Act
+        List<String> warnings = new PerformanceSettingsValidator(environment).check();
+
+        // Assert
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).startsWith("server.tomcat.threads.max=200 requests can run at once"), warnings.get(0));
+    }
+
+    @Test
+    void testConcurrencyLimitBelowTomcatThreads_ComparedInstead() {
+        // Arrange
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        environment.setProperty("customer.rate-limit.enabled", "true");
+        environment.setProperty("customer.concurrency-limit.max", "40");
+
+        // Act & Assert
+        assertEquals(List.of(), new PerformanceSettingsValidator(environment).check());
+    }
+
+    @Test
+    void testVirtualThreadsWithoutConcurrencyLimit_Warns() {
+        // Arrange
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+        environment.setProperty("customer.rate-limit.enabled", "false");
+
+        // Act
+        List<String> warnings = new PerformanceSettingsValidator(environment).check();
+
+        // Assert
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).startsWith("Virtual threads are on"), warnings.get(0));
+    }
+
+    @Test
+    void testVirtualThreadsWithoutConcurrencyLimit_LargePool_NoBoundInMessages() {
+        // Arrange
+        environment.setProperty("spring.threads.virtual.enabled", "true");
+        environment.setProperty("customer.rate-limit.enabled", "false");
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "500");
+        environment.setProperty("server.tomcat.threads.max", "20");
+
+        // Act
+        List<String> warnings = new PerformanceSettingsValidator(environment).check();
+
+        // Assert
+        assertEquals(1, warnings.size(), warnings.toString());
+        assertTrue(warnings.get(0).startsWith("Virtual threads are on"), warnings.get(0));
+        assertFalse(warnings.get(0).contains("null"), warnings.get(0));
+    }
+
+    @Test
+    void testPoolLargerThanConcurrency_Warns() {
+        // Arrange
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "50");
+        environment.setProperty("server.tomcat.threads.max", "20");
+
+        // Act
+        List<String> warnings = new PerformanceSettingsValidator(environment).check();
+
+        // Assert
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).contains("the extra connections are never used"), warnings.get(0));
+    }
+
+    @Test
+    void testMySqlWithoutStatementCacheOrBatchRewrite_Warns() {
+        // Arrange
+        environment.setProperty("spring.datasource.url", "jdbc:mysql://localhost:3306/db");
+        environment.setProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "50");
+        environment.setProperty("spring.jpa.show-sql", "true");
+        environment.setProperty("spring.datasource.hikari.minimum-idle", "2");
+        environment.setProperty("customer.rate-limit.enabled", "true");
+        environment.setProperty("customer.concurrency-limit.max", "40");
+
+        // Act
+        List<String> warnings = new PerformanceSettingsValidator(environment).check();
+
+        // Assert
+        assertEquals(4, warnings.size(), warnings.toString());
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("minimum-idle=2")));
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("show-sql")));
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("rewriteBatchedStatements")));
+        assertTrue(warnings.stream().anyMatch(warning -> warning.contains("cachePrepStmts")));
+    }
+
+    @Test
+    void testPerformanceProfile_PassesEveryCheck() throws IOException {
+        // Arrange
+        environment.getPropertySources().addLast(properties("application-performance.properties"));
+        environment.getPropertySources().addLast(properties("application.properties"));
+
+        // Act & Assert
+        assertEquals(List.of(), new PerformanceSettingsValidator(environment).check());
+    }
+
+    private static PropertiesPropertySource properties(String name) throws IOException {
+        return new PropertiesPropertySource(name, PropertiesLoaderUtils.loadProperties(new ClassPathResource(name)));
+    }
+}
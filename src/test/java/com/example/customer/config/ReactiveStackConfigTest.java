@@ -0,0 +1,21 @@
+package com.example.customer.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveStackConfigTest {
+
+    @Test
+    void testOutboxRelayEnabled_RefusesToStart() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new ReactiveStackConfig(true));
+    }
+
+    @Test
+    void testOutboxRelayDisabled_Starts() {
+        // Act & Assert
+        assertDoesNotThrow(() -> new ReactiveStackConfig(false));
+    }
+}
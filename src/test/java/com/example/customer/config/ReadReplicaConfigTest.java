@@ -0,0 +1,134 @@
+package com.example.customer.config;
+
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.service.impl.DniValidationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs JPA over a primary and two read replicas, three H2 databases holding different customers,
+ * to see which database each kind of transaction reads.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.read-replicas.urls[0]=jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1;INIT=" + ReadReplicaConfigTest.REPLICA_SCHEMA,
+        "customer.read-replicas.urls[1]=jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1;INIT=" + ReadReplicaConfigTest.REPLICA_SCHEMA
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Each test picks its own kind of transaction
+class ReadReplicaConfigTest {
+
+    // Hibernate only creates the schema on the primary
+    static final String REPLICA_SCHEMA = "CREATE TABLE IF NOT EXISTS customers (id BIGINT PRIMARY KEY, "
+            + "version BIGINT NOT NULL, first_name VARCHAR(255) NOT NULL, last_name VARCHAR(255) NOT NULL, "
+            + "dni VARCHAR(255) NOT NULL UNIQUE, email VARCHAR(255) NOT NULL)";
+
+    @TestConfiguration
+    static class ReplicaConfiguration {
+
+        @Bean
+        DataSource dataSource(DataSourceProperties properties, Environment environment) {
+            return new ReadReplicaConfig().dataSource(properties, environment, new SimpleMeterRegistry(),
+                    Duration.ofMinutes(1), Duration.ofSeconds(1));
+        }
+    }
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        customerRepository.deleteAllInBatch();
+        customerRepository.save(new Customer("Primary", "Customer", "11111111", "primary@example.com"));
+        for (String replica : List.of("routing-replica-1", "routing-replica-2")) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(), replicaUrl(replica), "sa", ""));
+            jdbcTemplate.update("DELETE FROM customers");
+            jdbcTemplate.update("INSERT INTO customers (id, version, first_name, last_name, dni, email) VALUES (1, 0, ?, 'Customer', '22222222', ?)",
+                    replica, replica + "@example.com");
+        }
+    }
+
+    @Test
+    void testReadOnlyTransactions_ReadReplicasInTurn() {
+        // Act
+        List<String> firstNames = List.of(
+                readOnly.execute(status -> customerRepository.findAll().get(0).getFirstName()),
+                readOnly.execute(status -> customerRepository.findAll().get(0).getFirstName()),
+                readOnly.execute(status -> customerRepository.findAll().get(0).getFirstName()));
+
+        // Assert
+        assertEquals(List.of("routing-replica-1", "routing-replica-2", "routing-replica-1"), firstNames);
+    }
+
+    @Test
+    void testReadWriteTransactions_UsePrimary() {
+        // Act
+        String firstName = readWrite.execute(status -> customerRepository.findAll().get(0).getFirstName());
+
+        // Assert
+        assertEquals("Primary", firstName);
+    }
+
+    @Test
+    void testDniCheckOutsideTransaction_UsesPrimary() {
+        // Act & Assert
+        assertTrue(customerRepository.existsByDni("11111111"));
+        assertFalse(customerRepository.existsByDni("22222222"));
+    }
+
+    @Test
+    void testDniFilterRebuild_ReadsPrimary() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DniValidationServiceImpl dniValidationService = new DniValidationServiceImpl(customerRepository, readWrite,
+                meterRegistry, true, 1000, 0.01);
+
+        // Act
+        dniValidationService.rebuild();
+
+        // Assert
+        assertTrue(dniValidationService.isUnique("22222222")); // Only on the replicas, so the filter has never seen it
+        assertEquals(1.0, meterRegistry.get("customer.dni.filter.lookups").tag("result", "definitely_absent").counter().count());
+    }
+
+    private static String replicaUrl(String name) {
+        return "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;INIT=" + REPLICA_SCHEMA;
+    }
+}
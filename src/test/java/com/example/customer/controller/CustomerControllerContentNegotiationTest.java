@@ -0,0 +1,129 @@
+package com.example.customer.controller;
+
+import com.example.customer.config.SmileConfig;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.model.Customer;
+import com.example.customer.service.CustomerBulkDeleteService;
+import com.example.customer.service.CustomerImportService;
+import com.example.customer.service.CustomerService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CustomerControllerContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private CustomerImportService customerImportService;
+
+    @Mock
+    private CustomerBulkDeleteService customerBulkDeleteService;
+
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        smileConverter = new SmileConfig().smileHttpMessageConverter(new Jackson2ObjectMapperBuilder());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CustomerController(customerService, customerImportService, customerBulkDeleteService, objectMapper))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper), smileConverter)
+                .build();
+        when(customerService.getCustomerResponseById(1L))
+                .thenReturn(Optional.of(new CustomerResponse(1L, "John", "Doe", "12345678", "john.doe@example.com", 2L)));
+    }
+
+    @Test
+    void testGetCustomer_WithoutAccept_ReturnsJson() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetCustomer_AcceptSmile_ReturnsSmile() throws Exception {
+        // Act
+        byte[] body = mockMvc.perform(get("/api/customers/1").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode customer = smileConverter.getObjectMapper().readTree(body);
+        assertEquals("12345678", customer.get("dni").asText());
+        assertEquals(2L, customer.get("version").asLong());
+    }
+
+    @Test
+    void testGetCustomers_AcceptSmile_IsSmallerThanJson() throws Exception {
+        // Arrange
+        List<CustomerResponse> customers = List.of(response(1L, "11111111"), response(2L, "22222222"), response(3L, "33333333"));
+        when(customerService.getCustomersAfter(null, 101)).thenReturn(customers);
+
+        // Act
+        int jsonSize = mockMvc.perform(get("/api/customers").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray().length;
+        int smileSize = mockMvc.perform(get("/api/customers").accept(SMILE))
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray().length;
+
+        // Assert
+        assertTrue(smileSize < jsonSize, "Expected Smile (" + smileSize + " bytes) to be smaller than JSON (" + jsonSize + " bytes)");
+    }
+
+    @Test
+    void testUpdateCustomer_SmileBody_IsRead() throws Exception {
+        // Arrange
+        byte[] body = smileConverter.getObjectMapper().writeValueAsBytes(
+                new CustomerResponse(null, "Johnny", "Doe", "12345678", "john.doe@example.com"));
+        Customer updated = customer(1L, "12345678");
+        updated.setFirstName("Johnny");
+        when(customerService.updateCustomer(eq(1L), any(Customer.class), eq(null))).thenReturn(updated);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/customers/1").contentType(SMILE).accept(SMILE).content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE));
+    }
+
+    private static CustomerResponse response(Long id, String dni) {
+        return new CustomerResponse(id, "John", "Doe", dni, "john.doe@example.com", 0L);
+    }
+
+    private static Customer customer(Long id, String dni) {
+        Customer customer = new Customer("John", "Doe", dni, "john.doe@example.com");
+        customer.setId(id);
+        customer.setVersion(0L);
+        return customer;
+    }
+}
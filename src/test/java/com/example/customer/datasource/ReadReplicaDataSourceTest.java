@@ -0,0 +1,137 @@
+package com.example.customer.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.Driver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadReplicaDataSourceTest {
+
+    private final DataSource primary = h2("replicas-primary");
+    private final SwitchableDataSource replica1 = new SwitchableDataSource(h2("replicas-replica-1"));
+    private final SwitchableDataSource replica2 = new SwitchableDataSource(h2("replicas-replica-2"));
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testGetConnection_RoundRobinOverReplicas() throws SQLException {
+        // Arrange
+        ReadReplicaDataSource dataSource = readReplicaDataSource(Duration.ofMinutes(1));
+
+        // Act
+        List<String> databases = connectTimes(dataSource, 4);
+
+        // Assert
+        assertEquals(List.of("REPLICAS-REPLICA-1", "REPLICAS-REPLICA-2", "REPLICAS-REPLICA-1", "REPLICAS-REPLICA-2"), databases);
+    }
+
+    @Test
+    void testGetConnection_FailedReplica_SkippedForRetryInterval() throws SQLException {
+        // Arrange
+        ReadReplicaDataSource dataSource = readReplicaDataSource(Duration.ofMinutes(1));
+        replica1.down = true;
+
+        // Act
+        List<String> databases = connectTimes(dataSource, 3);
+        replica1.down = false; // Back up, but still within the retry interval
+
+        // Assert
+        assertEquals(List.of("REPLICAS-REPLICA-2", "REPLICAS-REPLICA-2", "REPLICAS-REPLICA-2"), databases);
+        assertEquals(List.of("REPLICAS-REPLICA-2", "REPLICAS-REPLICA-2"), connectTimes(dataSource, 2));
+        assertEquals(1, dataSource.availableReplicas());
+        assertEquals(1.0, meterRegistry.get("customer.datasource.replicas.available").gauge().value());
+        assertEquals(1.0, meterRegistry.counter("customer.datasource.replica.failures", "replica", "replica-1").count());
+    }
+
+    @Test
+    void testGetConnection_ReplicaRecovered_UsedAgainAfterRetryInterval() throws SQLException {
+        // Arrange
+        ReadReplicaDataSource dataSource = readReplicaDataSource(Duration.ZERO);
+        replica1.down = true;
+        connectTimes(dataSource, 1);
+
+        // Act
+        replica1.down = false;
+        List<String> databases = connectTimes(dataSource, 2);
+
+        // Assert
+        assertEquals(List.of("REPLICAS-REPLICA-2", "REPLICAS-REPLICA-1"), databases);
+        assertEquals(2, dataSource.availableReplicas());
+    }
+
+    @Test
+    void testGetConnection_AllReplicasDown_FallsBackToPrimary() throws SQLException {
+        // Arrange
+        ReadReplicaDataSource dataSource = readReplicaDataSource(Duration.ofMinutes(1));
+        replica1.down = true;
+        replica2.down = true;
+
+        // Act
+        List<String> databases = connectTimes(dataSource, 2);
+
+        // Assert
+        assertEquals(List.of("REPLICAS-PRIMARY", "REPLICAS-PRIMARY"), databases);
+        assertEquals(0, dataSource.availableReplicas());
+        assertEquals(2.0, meterRegistry.counter("customer.datasource.replica.fallbacks").count());
+    }
+
+    private ReadReplicaDataSource readReplicaDataSource(Duration retryInterval) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primary, replicas, retryInterval, meterRegistry);
+        dataSource.bindTo(meterRegistry);
+        return dataSource;
+    }
+
+    private static List<String> connectTimes(DataSource dataSource, int times) throws SQLException {
+        List<String> databases = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            try (Connection connection = dataSource.getConnection()) {
+                databases.add(connection.getCatalog());
+            }
+        }
+        return databases;
+    }
+
+    private static DataSource h2(String name) {
+        return new SimpleDriverDataSource(new Driver(), "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /**
+     * Fails every connection attempt while down, like a replica that is unreachable.
+     */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
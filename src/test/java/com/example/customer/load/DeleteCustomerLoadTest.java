@@ -0,0 +1,175 @@
+package com.example.customer.load;
+
+import com.example.customer.CustomerApplication;
+import com.example.customer.model.Customer;
+import com.example.customer.repository.CustomerRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares p99 latency and throughput of the delete path with Tomcat platform threads versus
+ * virtual threads. Each run starts the application on an in-memory H2 database and points the
+ * bank accounts client to a local stub that answers "no accounts" after a fixed delay.
+ *
+ * Run with: mvn test -P load-test
+ */
+@Tag("load")
+class DeleteCustomerLoadTest {
+
+    private static final int REQUESTS = 1000;
+    private static final int CONCURRENCY = 100;
+    private static final int TOMCAT_MAX_THREADS = 25;
+    private static final long STUB_LATENCY_MILLIS = 50;
+
+    private static HttpServer accountsStub;
+    private static HttpClient httpClient;
+
+    @BeforeAll
+    static void startAccountsStub() throws Exception {
+        accountsStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        accountsStub.createContext("/api/accounts/customer", exchange -> {
+            try {
+                Thread.sleep(STUB_LATENCY_MILLIS); // Simulates a slow accounts service
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        accountsStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        accountsStub.start();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @AfterAll
+    static void stopAccountsStub() {
+        accountsStub.stop(0);
+    }
+
+    @Test
+    void compareDeleteLatency_PlatformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-18s %12s %10s %10s%n", "mode", "throughput", "p50 (ms)", "p99 (ms)");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertEquals(REQUESTS, platform.succeeded(), "Every platform-thread delete should succeed");
+        assertEquals(REQUESTS, virtual.succeeded(), "Every virtual-thread delete should succeed");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = startApplication(mode, virtualThreads)) {
+            CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+            List<Customer> customers = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                customers.add(new Customer("Load", "Test", String.valueOf(10_000_000 + i), "load" + i + "@example.com"));
+            }
+            List<Long> ids = customerRepository.saveAll(customers).stream().map(Customer::getId).toList();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/customers/";
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger succeeded = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < REQUESTS; i++) {
+                    int index = i;
+                    inFlight.acquire();
+                    executor.execute(() -> {
+                        try {
+                            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + ids.get(index)))
+                                    .DELETE()
+                                    .build();
+                            long sent = System.nanoTime();
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            latencies[index] = System.nanoTime() - sent;
+                            if (response.statusCode() == 204) {
+                                succeeded.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            latencies[index] = Long.MAX_VALUE;
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            return new Result(mode, REQUESTS * 1e9 / elapsed, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    succeeded.get());
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(String mode, boolean virtualThreads) {
+        // Command-line arguments take precedence over application.properties
+        return new SpringApplicationBuilder(CustomerApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--customer.dni-filter.enabled=false",
+                "--customer.rate-limit.enabled=false", // Measures the delete path itself, not admission control
+                "--microservices.bank-accounts.base-url=http://localhost:" + accountsStub.getAddress().getPort()
+                        + "/api/accounts",
+                "--microservices.bank-accounts.max-connections=" + CONCURRENCY,
+                "--microservices.bank-accounts.pending-acquire-max-count=" + REQUESTS,
+                // Timeouts and the breaker are relaxed so the run measures the threading model, not resilience
+                "--microservices.bank-accounts.pending-acquire-timeout=60s",
+                "--microservices.bank-accounts.response-timeout=60s",
+                "--microservices.bank-accounts.call-timeout=60s",
+                "--microservices.bank-accounts.circuit-breaker.failure-threshold=" + REQUESTS);
+    }
+
+    private static double percentile(long[] latencies, double percentile) {
+        long[] sorted = LongStream.of(latencies).sorted().toArray();
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, int succeeded) {
+        @Override
+        public String toString() {
+            return String.format("%-18s %9.0f/s %10.1f %10.1f", mode, throughput, p50Millis, p99Millis);
+        }
+    }
+}
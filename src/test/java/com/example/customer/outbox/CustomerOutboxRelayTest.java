@@ -0,0 +1,106 @@
+package com.example.customer.outbox;
+
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerOutboxRelayTest {
+
+    @Mock
+    private CustomerChangeEventRepository changeEventRepository;
+
+    @Mock
+    private CustomerChangeSink sink;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new CustomerOutboxRelay(changeEventRepository, sink, TransactionOperations.withoutTransaction(),
+                meterRegistry, 2, Duration.ofMillis(500), Duration.ofDays(7));
+        relay.registerGauges();
+    }
+
+    @Test
+    void testStartAndStop_PollsOnlyWhileRunning() {
+        // Arrange
+        when(changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        relay.start();
+        verify(changeEventRepository, timeout(1000)).findByPublishedAtIsNullOrderByIdAsc(Limit.of(2));
+        relay.stop();
+
+        // Assert
+        assertFalse(relay.isRunning());
+    }
+
+    @Test
+    void testRelay_PublishesBatchesUntilDrainedAndMarksThem() {
+        // Arrange
+        when(changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(2)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+
+        // Act
+        int published = relay.relay();
+
+        // Assert
+        assertEquals(3, published);
+        verify(sink, times(2)).publish(any());
+        verify(changeEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(changeEventRepository).markPublished(eq(List.of(3L)), any());
+        verify(changeEventRepository).deletePublishedBefore(any());
+        assertEquals(3.0, meterRegistry.get("customer.outbox.published").counter().count());
+    }
+
+    @Test
+    void testRelay_SinkFailure_LeavesBatchPending() {
+        // Arrange
+        when(changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(2))).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("Webhook down")).when(sink).publish(any());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> relay.relay());
+        verify(changeEventRepository, never()).markPublished(anyCollection(), any());
+        assertEquals(1.0, meterRegistry.get("customer.outbox.failures").counter().count());
+        assertTrue(meterRegistry.get("customer.outbox.lag").gauge().value() >= 30, "Lag should report the pending event");
+    }
+
+    private static CustomerChangeEvent event(Long id) {
+        Customer customer = new Customer("John", "Doe", "1234567" + id, "john.doe@example.com");
+        customer.setId(id);
+        CustomerChangeEvent event = new CustomerChangeEvent(CustomerChangeEvent.Type.CREATED, customer, Instant.now().minusSeconds(30));
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.customer.outbox;
+
+import com.example.customer.dto.CustomerChangeEventResponse;
+import com.example.customer.dto.CustomerChangeFeed;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import com.example.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the outbox writes, the change feed and the relay queries against H2.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerOutboxTest {
+
+    @Autowired
+    private CustomerChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private CustomerOutbox customerOutbox;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        customerOutbox = new CustomerOutbox(changeEventRepository, Duration.ofSeconds(2), nanoTime::get);
+    }
+
+    @Test
+    void testReadChanges_PagesFromOffsetInIdOrder() {
+        // Arrange
+        Instant past = Instant.now().minusSeconds(60);
+        List<CustomerChangeEvent> events = changeEventRepository.saveAll(List.of(
+                new CustomerChangeEvent(CustomerChangeEvent.Type.CREATED, customer(1L, "11111111"), past),
+                new CustomerChangeEvent(CustomerChangeEvent.Type.UPDATED, customer(1L, "22222222"), past),
+                new CustomerChangeEvent(1L, past)));
+
+        // Act
+        CustomerChangeFeed first = customerOutbox.readChanges(events.get(0).getId() - 1, 2);
+        CustomerChangeFeed second = customerOutbox.readChanges(first.getNext(), 2);
+        CustomerChangeFeed third = customerOutbox.readChanges(second.getNext(), 2);
+
+        // Assert
+        assertEquals(List.of("CREATED", "UPDATED"), first.getEvents().stream().map(CustomerChangeEventResponse::getType).toList());
+        assertEquals(events.get(1).getId(), first.getNext());
+        assertEquals("DELETED", second.getEvents().get(0).getType());
+        assertEquals(1L, second.getEvents().get(0).getCustomer().getId());
+        assertNull(second.getEvents().get(0).getCustomer().getDni()); // Deletes carry only the ID
+        assertTrue(third.getEvents().isEmpty());
+        assertEquals(second.getNext(), third.getNext());
+    }
+
+    @Test
+    void testReadChanges_StopsAtAGapUntilTheFeedDelayPassed() {
+        // Arrange
+        Instant past = Instant.now().minusSeconds(60);
+        List<CustomerChangeEvent> events = changeEventRepository.saveAll(List.of(
+                new CustomerChangeEvent(CustomerChangeEvent.Type.CREATED, customer(1L, "11111111"), past),
+                new CustomerChangeEvent(CustomerChangeEvent.Type.CREATED, customer(2L, "22222222"), past),
+                new CustomerChangeEvent(CustomerChangeEvent.Type.CREATED, customer(3L, "33333333"), past)));
+        changeEventRepository.delete(events.get(1)); // Stands for a transaction still in flight
+        long since = events.get(0).getId() - 1;
+
+        // Act
+        CustomerChangeFeed beforeDelay = customerOutbox.readChanges(since, 10);
+        nanoTime.addAndGet(Duration.ofMillis(1999).toNanos());
+        CustomerChangeFeed justBeforeDelay = customerOutbox.readChanges(since, 10);
+        nanoTime.addAndGet(Duration.ofMillis(1).toNanos());
+        CustomerChangeFeed afterDelay = customerOutbox.readChanges(beforeDelay.getNext(), 10);
+
+        // Assert
+        assertEquals(List.of(events.get(0).getId()), beforeDelay.getEvents().stream().map(CustomerChangeEventResponse::getId).toList());
+        assertEquals(events.get(0).getId(), beforeDelay.getNext());
+        assertEquals(events.get(0).getId(), justBeforeDelay.getNext());
+        assertEquals(List.of(events.get(2).getId()), afterDelay.getEvents().stream().map(CustomerChangeEventResponse::getId).toList());
+        assertEquals(events.get(2).getId(), afterDelay.getNext());
+    }
+
+    @Test
+    void testReadChanges_ReturnsNewEventsWithoutGapsAtOnce() {
+        // Arrange
+        customerOutbox.record(CustomerChangeEvent.Type.CREATED, customer(1L, "11111111"));
+        customerOutbox.record(CustomerChangeEvent.Type.UPDATED, customer(1L, "22222222"));
+        List<CustomerChangeEvent> events = changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10));
+
+        // Act
+        CustomerChangeFeed result = customerOutbox.readChanges(events.get(0).getId() - 1, 10);
+
+        // Assert
+        assertEquals(List.of("CREATED", "UPDATED"), result.getEvents().stream().map(CustomerChangeEventResponse::getType).toList());
+        assertEquals(events.get(1).getId(), result.getNext());
+    }
+
+    @Test
+    void testRecordAllAndDeletions_CopyCustomersInOneStatementEach() {
+        // Arrange
+        List<Customer> customers = customerRepository.saveAll(List.of(
+                new Customer("John", "Doe", "11111111", "john.doe@example.com"),
+                new Customer("Jane", "Roe", "22222222", "jane.roe@example.com")));
+        List<Long> ids = customers.stream().map(Customer::getId).toList();
+
+        // Act
+        customerOutbox.recordAll(CustomerChangeEvent.Type.CREATED, customers);
+        customerOutbox.recordDeletions(List.of(ids.get(1), -1L));
+
+        // Assert
+        List<CustomerChangeEvent> events = changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10));
+        assertEquals(List.of("CREATED", "CREATED", "DELETED"), events.stream().map(event -> event.getType().name()).toList());
+        assertEquals(List.of(ids.get(0), ids.get(1), ids.get(1)), events.stream().map(CustomerChangeEvent::getCustomerId).toList());
+        assertEquals(List.of("11111111", "22222222"), events.stream().limit(2).map(CustomerChangeEvent::getDni).sorted().toList());
+        assertNull(events.get(2).getDni()); // Deletes carry only the ID
+    }
+
+    @Test
+    void testMarkPublishedAndPurge() {
+        // Arrange
+        customerOutbox.recordAll(CustomerChangeEvent.Type.CREATED, customerRepository.saveAll(List.of(
+                new Customer("John", "Doe", "11111111", "john.doe@example.com"),
+                new Customer("Jane", "Roe", "22222222", "jane.roe@example.com"))));
+        List<CustomerChangeEvent> pending = changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10));
+        Instant publishedAt = Instant.now().minus(Duration.ofDays(8));
+
+        // Act
+        int marked = changeEventRepository.markPublished(List.of(pending.get(0).getId()), publishedAt);
+        int purged = changeEventRepository.deletePublishedBefore(Instant.now().minus(Duration.ofDays(7)));
+
+        // Assert
+        assertEquals(2, pending.size());
+        assertEquals(1, marked);
+        assertEquals(1, purged);
+        assertEquals(List.of(pending.get(1).getId()), changeEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10))
+                .stream().map(CustomerChangeEvent::getId).toList());
+    }
+
+    private static Customer customer(Long id, String dni) {
+        Customer customer = new Customer("John", "Doe", dni, "john.doe@example.com");
+        customer.setId(id);
+        return customer;
+    }
+}
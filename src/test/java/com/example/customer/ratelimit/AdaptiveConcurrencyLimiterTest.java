@@ -0,0 +1,97 @@
+package com.example.customer.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 20, Duration.ofMillis(500), 0.5);
+    }
+
+    @Test
+    void testTryAcquire_LimitReached_Rejects() {
+        // Arrange
+        acquire(10);
+
+        // Act & Assert
+        assertFalse(limiter.tryAcquire(), "Expected requests over the limit to be rejected");
+        limiter.onComplete(FAST);
+        assertTrue(limiter.tryAcquire(), "Expected a finished request to free its slot");
+    }
+
+    @Test
+    void testOnComplete_SlowRequest_ShrinksLimitToMinimum() {
+        // Act
+        acquire(1);
+        limiter.onComplete(SLOW);
+        int afterOne = limiter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            acquire(1);
+            limiter.onComplete(SLOW);
+        }
+
+        // Assert
+        assertEquals(5, afterOne);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testOnComplete_FastRequestsAtLimit_GrowLimit() {
+        // Act: ten rounds of a full limit of fast requests
+        for (int round = 0; round < 10; round++) {
+            int limit = limiter.getLimit();
+            acquire(limit);
+            for (int i = 0; i < limit; i++) {
+                limiter.onComplete(FAST);
+            }
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "Expected the limit to grow, was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 20, "Expected the limit to stay under the maximum");
+    }
+
+    @Test
+    void testOnComplete_FastRequestsWellUnderLimit_KeepLimit() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            acquire(1);
+            limiter.onComplete(FAST);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_FreesSlotWithoutAdapting() {
+        // Arrange
+        acquire(10);
+
+        // Act
+        limiter.release();
+
+        // Assert
+        assertEquals(9, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private void acquire(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.customer.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(5, 1, 10, Duration.ofSeconds(1), 0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(
+                () -> new TokenBucket(1, 2, now::get), // 2 at once per client and endpoint, then 1 per second
+                () -> new TokenBucket(1, 3, now::get), // 3 at once per endpoint
+                concurrencyLimiter, "X-Client-Id", Set.of("127.0.0.1"), 1000, meterRegistry, new ObjectMapper());
+    }
+
+    @Test
+    void testClientOverItsLimit_Gets429WithRetryAfter() throws Exception {
+        // Arrange
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch");
+
+        // Act
+        MockHttpServletResponse response = send("GET", "/api/customers", "batch");
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":\"429\""));
+        assertEquals(1.0, decisions("GET /api/customers", "client-limited"));
+    }
+
+    @Test
+    void testOtherClientsAndEndpoints_KeepTheirOwnLimits() throws Exception {
+        // Arrange
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch");
+
+        // Act & Assert
+        assertEquals(200, send("GET", "/api/customers", "interactive").getStatus());
+        assertEquals(200, send("POST", "/api/customers", "batch").getStatus());
+        assertEquals(200, send("GET", "/api/customers/42", "batch").getStatus());
+    }
+
+    @Test
+    void testEndpointOverItsLimit_Gets429ForEveryClient() throws Exception {
+        // Arrange
+        send("POST", "/api/customers", "client-1");
+        send("POST", "/api/customers", "client-2");
+        send("POST", "/api/customers", "client-3");
+
+        // Act
+        MockHttpServletResponse response = send("POST", "/api/customers", "client-4");
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, decisions("POST /api/customers", "endpoint-limited"));
+    }
+
+    @Test
+    void testUntrustedAddress_ClientIdHeaderIgnored() throws Exception {
+        // Arrange
+        send(request("GET", "/api/customers", "client-1", "203.0.113.7"));
+        send(request("GET", "/api/customers", "client-2", "203.0.113.7"));
+
+        // Act
+        MockHttpServletResponse response = send(request("GET", "/api/customers", "client-3", "203.0.113.7"));
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, decisions("GET /api/customers", "client-limited"));
+        assertEquals(200, send(request("GET", "/api/customers", "client-3", "203.0.113.8")).getStatus());
+    }
+
+    @Test
+    void testAuthenticatedPrincipal_KeysTheClient() throws Exception {
+        // Arrange
+        MockHttpServletRequest first = request("GET", "/api/customers", "client-1", "203.0.113.7");
+        first.setUserPrincipal(() -> "alice");
+        MockHttpServletRequest second = request("GET", "/api/customers", "client-2", "127.0.0.1");
+        second.setUserPrincipal(() -> "alice");
+        MockHttpServletRequest third = request("GET", "/api/customers", "client-3", "203.0.113.8");
+        third.setUserPrincipal(() -> "alice");
+        send(first);
+        send(second);
+
+        // Act
+        MockHttpServletResponse response = send(third);
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, decisions("GET /api/customers", "client-limited"));
+    }
+
+    @Test
+    void testClientOverItsLimit_GivesBackEndpointTokenAndSlot() throws Exception {
+        // Arrange
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch"); // Client-limited
+
+        // Act
+        MockHttpServletResponse response = send("GET", "/api/customers", "interactive");
+
+        // Assert
+        assertEquals(200, response.getStatus()); // The endpoint's third token was given back
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void testShedRequests_DoNotChargeTheClient() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            concurrencyLimiter.tryAcquire();
+        }
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch");
+        for (int i = 0; i < 5; i++) {
+            concurrencyLimiter.release();
+        }
+
+        // Act & Assert
+        assertEquals(200, send("GET", "/api/customers", "batch").getStatus());
+        assertEquals(200, send("GET", "/api/customers", "batch").getStatus());
+        assertEquals(2.0, decisions("GET /api/customers", "shed"));
+    }
+
+    @Test
+    void testTokensRefill_AllowedAgain() throws Exception {
+        // Arrange
+        send("GET", "/api/customers", "batch");
+        send("GET", "/api/customers", "batch");
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Act & Assert
+        assertEquals(200, send("GET", "/api/customers", "batch").getStatus());
+    }
+
+    @Test
+    void testConcurrencyLimitReached_Gets503() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            concurrencyLimiter.tryAcquire();
+        }
+
+        // Act
+        MockHttpServletResponse response = send("GET", "/api/customers/search", "batch");
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, decisions("GET /api/customers/search", "shed"));
+    }
+
+    @Test
+    void testAllowedRequest_ReleasesConcurrencySlot() throws Exception {
+        // Act
+        MockHttpServletResponse response = send("DELETE", "/api/customers/7", "batch");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        assertEquals(1.0, decisions("DELETE /api/customers/{id}", "allowed"));
+    }
+
+    @Test
+    void testSlowBulkRequests_DoNotShrinkTheLimit() throws Exception {
+        // Act
+        sendSlowly("POST", "/api/customers/bulk");
+        sendSlowly("POST", "/api/customers/bulk-delete");
+        int afterBulk = concurrencyLimiter.getLimit();
+        sendSlowly("POST", "/api/customers/batch-get");
+
+        // Assert
+        assertEquals(5, afterBulk);
+        assertEquals(2, concurrencyLimiter.getLimit()); // Other slow requests still shrink it
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void testOtherPaths_NotLimited() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            concurrencyLimiter.tryAcquire();
+        }
+
+        // Act
+        MockHttpServletResponse response = send("GET", "/actuator/prometheus", "batch");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testEndpoint_NamesPathTemplates() {
+        // Act & Assert
+        assertEquals("GET /api/customers", RateLimitFilter.endpoint(request("GET", "/api/customers", null)));
+        assertEquals("GET /api/customers/autocomplete", RateLimitFilter.endpoint(request("GET", "/api/customers/autocomplete", null)));
+        assertEquals("PUT /api/customers/{id}", RateLimitFilter.endpoint(request("PUT", "/api/customers/123", null)));
+        assertEquals("OTHER /api/customers/{id}", RateLimitFilter.endpoint(request("FOO", "/api/customers/x/y", null)));
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String clientId) throws Exception {
+        return send(request(method, uri, clientId));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void sendSlowly(String method, String uri) throws Exception {
+        filter.doFilter(request(method, uri, "batch"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    try {
+                        Thread.sleep(1100); // Over the 1s latency threshold
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String clientId, String remoteAddress) {
+        MockHttpServletRequest request = request(method, uri, clientId);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private double decisions(String endpoint, String decision) {
+        return meterRegistry.get("customer.rate-limit.decisions").tag("endpoint", endpoint).tag("decision", decision)
+                .counter().count();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.customer.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private TokenBucket tokenBucket;
+
+    @BeforeEach
+    void setUp() {
+        tokenBucket = new TokenBucket(10, 3, now::get); // A token every 100 ms, 3 at once
+    }
+
+    @Test
+    void testTryAcquire_FullBucket_AllowsBurst() {
+        // Act & Assert
+        assertEquals(0, tokenBucket.tryAcquire());
+        assertEquals(0, tokenBucket.tryAcquire());
+        assertEquals(0, tokenBucket.tryAcquire());
+        assertEquals(Duration.ofMillis(100).toNanos(), tokenBucket.tryAcquire());
+        assertEquals(0, tokenBucket.availableTokens());
+    }
+
+    @Test
+    void testTryAcquire_EmptyBucket_RefillsAtRate() {
+        // Arrange
+        drain();
+
+        // Act
+        now.addAndGet(Duration.ofMillis(150).toNanos());
+
+        // Assert
+        assertEquals(1, tokenBucket.availableTokens());
+        assertEquals(0, tokenBucket.tryAcquire());
+        assertEquals(Duration.ofMillis(50).toNanos(), tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void testTryAcquire_LongIdle_RefillsNoMoreThanBurst() {
+        // Arrange
+        drain();
+
+        // Act
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // Assert
+        assertEquals(3, tokenBucket.availableTokens());
+        drain();
+        assertEquals(0, tokenBucket.availableTokens());
+    }
+
+    @Test
+    void testRefund_GivesTokenBack() {
+        // Arrange
+        drain();
+
+        // Act
+        tokenBucket.refund();
+
+        // Assert
+        assertEquals(1, tokenBucket.availableTokens());
+        assertEquals(0, tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void testRefund_FullBucket_StaysAtBurst() {
+        // Arrange
+        tokenBucket.tryAcquire();
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        // Act
+        tokenBucket.refund();
+
+        // Assert
+        assertEquals(3, tokenBucket.availableTokens());
+        drain();
+        assertEquals(0, tokenBucket.availableTokens());
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentCallers_TakeEachTokenOnce() throws Exception {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 1000, now::get);
+        AtomicInteger acquired = new AtomicInteger();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        if (bucket.tryAcquire() == 0) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        // Assert
+        assertEquals(1000, acquired.get());
+    }
+
+    private void drain() {
+        while (tokenBucket.tryAcquire() == 0) {
+            // Take every token left
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.customer.repository;
+
+import com.example.customer.config.EntityCacheConfig;
+import com.example.customer.model.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the native deletes by ID remove only their rows and leave the cache entries of the other
+ * customers in place. The callers evict the deleted customers themselves.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:delete;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cache entries are written on commit
+class CustomerRepositoryDeleteTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDeleteCustomersByIds_KeepsOtherCustomersCached() {
+        // Arrange
+        List<Customer> customers = customerRepository.saveAll(List.of(
+                new Customer("Maria", "Martinez", "12345678", "maria@example.com"),
+                new Customer("Luis", "Lopez", "11111111", "luis@example.com"),
+                new Customer("Ana", "Rojas", "87654321", "ana@example.com")));
+        Long kept = customers.get(2).getId();
+
+        // Act
+        List<Long> ids = List.of(customers.get(0).getId(), customers.get(1).getId());
+        Integer deleted = new TransactionTemplate(transactionManager).execute(status -> customerRepository
+                .deleteCustomersByIds(ids));
+        ids.forEach(id -> entityManagerFactory.getCache().evict(Customer.class, id)); // As the callers do
+
+        // Assert
+        assertEquals(2, deleted);
+        assertEquals(List.of(kept), customerRepository.findAll().stream().map(Customer::getId).toList());
+        assertTrue(entityManagerFactory.getCache().contains(Customer.class, kept));
+        assertTrue(customerRepository.findByDni("12345678").isEmpty()); // The DNI cache entry left behind resolves to nothing
+        assertFalse(customerRepository.existsByDni("12345678"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.customer.repository;
+
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.model.Customer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the CustomerResponse projections return the same data as the entities
+ * and leave nothing in the persistence context.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerRepositoryProjectionTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        customers = customerRepository.saveAll(List.of(
+                new Customer("Maria", "Martinez", "12345678", "maria@example.com"),
+                new Customer("Luis", "Lopez", "11111111", "luis@example.com"),
+                new Customer("Ana", "Rojas", "87654321", "ana@example.com")));
+        entityManager.flush();
+        entityManager.clear(); // Start each test with an empty persistence context
+    }
+
+    @Test
+    void testFindResponseById_CopiesEveryColumn() {
+        // Arrange
+        Customer maria = customers.get(0);
+
+        // Act
+        Optional<CustomerResponse> result = customerRepository.findResponseById(maria.getId());
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(maria.getId(), result.get().getId());
+        assertEquals("Maria", result.get().getFirstName());
+        assertEquals("Martinez", result.get().getLastName());
+        assertEquals("12345678", result.get().getDni());
+        assertEquals("maria@example.com", result.get().getEmail());
+        assertEquals(maria.getVersion(), result.get().getVersion());
+        assertEquals(0, managedEntities());
+    }
+
+    @Test
+    void testFindResponseById_UnknownId_ReturnsEmpty() {
+        // Act & Assert
+        assertFalse(customerRepository.findResponseById(-1L).isPresent());
+    }
+
+    @Test
+    void testFindResponsesByIdGreaterThan_AppliesCursorAndLimit() {
+        // Act
+        List<CustomerResponse> result = customerRepository.findResponsesByIdGreaterThan(customers.get(0).getId(), Limit.of(1));
+
+        // Assert
+        assertEquals(List.of(customers.get(1).getId()), result.stream().map(CustomerResponse::getId).toList());
+        assertEquals(0, managedEntities());
+    }
+
+    private int managedEntities() {
+        return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
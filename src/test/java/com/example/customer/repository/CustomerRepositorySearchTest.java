@@ -0,0 +1,104 @@
+package com.example.customer.repository;
+
+import com.example.customer.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the search predicates against H2 with case-insensitive text columns, matching the
+ * case-insensitive collation used by the customers table on MySQL.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CustomerRepositorySearchTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.saveAll(List.of(
+                new Customer("Maria", "Martinez", "12345678", "maria@example.com"),
+                new Customer("Mario", "Marquez", "12399999", "mario@example.com"),
+                new Customer("Ana", "Mar_tin", "87654321", "ana@example.com"),
+                new Customer("Luis", "Lopez", "11111111", "luis@example.com"),
+                new Customer("Marco", "Martinez", "22222222", "marco@example.com")));
+    }
+
+    @Test
+    void testFindFirstMatching_ByLastNamePrefix_IgnoresCaseAndSortsByLastName() {
+        // Act
+        List<Customer> result = customerRepository.findFirstMatching(
+                CustomerSpecifications.lastNameStartsWith("mar"), CustomerSearchOrder.LAST_NAME, 10);
+
+        // Assert
+        assertEquals(List.of("Mar_tin", "Marquez", "Martinez", "Martinez"),
+                result.stream().map(Customer::getLastName).toList());
+    }
+
+    @Test
+    void testFindFirstMatching_WildcardsInPrefix_MatchedLiterally() {
+        // Act
+        List<Customer> result = customerRepository.findFirstMatching(
+                CustomerSpecifications.lastNameStartsWith("Mar_"), CustomerSearchOrder.LAST_NAME, 10);
+
+        // Assert
+        assertEquals(List.of("Mar_tin"), result.stream().map(Customer::getLastName).toList());
+    }
+
+    @Test
+    void testFindFirstMatching_AfterPosition_ContinuesWithinEqualValues() {
+        // Arrange
+        List<Customer> firstPage = customerRepository.findFirstMatching(
+                CustomerSpecifications.lastNameStartsWith("mar"), CustomerSearchOrder.LAST_NAME, 3);
+        Customer last = firstPage.get(2);
+
+        // Act
+        List<Customer> secondPage = customerRepository.findFirstMatching(
+                CustomerSpecifications.lastNameStartsWith("mar")
+                        .and(CustomerSearchOrder.LAST_NAME.after(last.getLastName(), last.getId())),
+                CustomerSearchOrder.LAST_NAME, 3);
+
+        // Assert
+        assertEquals("Martinez", last.getLastName());
+        assertEquals(1, secondPage.size());
+        assertEquals("Martinez", secondPage.get(0).getLastName());
+        assertTrue(secondPage.get(0).getId() > last.getId());
+    }
+
+    @Test
+    void testFindFirstMatching_CombinedCriteria_SortedByDni() {
+        // Act
+        List<Customer> result = customerRepository.findFirstMatching(
+                CustomerSpecifications.dniStartsWith("123").and(CustomerSpecifications.firstNameStartsWith("MAR")),
+                CustomerSearchOrder.DNI, 10);
+
+        // Assert
+        assertEquals(List.of("12345678", "12399999"), result.stream().map(Customer::getDni).toList());
+    }
+
+    @Test
+    void testFindFirstMatching_ByExactEmail() {
+        // Act
+        List<Customer> result = customerRepository.findFirstMatching(
+                CustomerSpecifications.emailEquals("luis@example.com"), CustomerSearchOrder.EMAIL, 10);
+
+        // Assert
+        assertEquals(List.of("11111111"), result.stream().map(Customer::getDni).toList());
+    }
+}
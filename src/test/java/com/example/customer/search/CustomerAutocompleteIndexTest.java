@@ -0,0 +1,96 @@
+package com.example.customer.search;
+
+import com.example.customer.dto.CustomerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerAutocompleteIndexTest {
+
+    private CustomerAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerAutocompleteIndex();
+        CustomerAutocompleteIndex.Builder builder = index.startRebuild();
+        builder.add(1L, "Maria", "Garcia", "maria.garcia@example.com", "10000001");
+        builder.add(2L, "Mario", "Gomez", "mario.gomez@example.com", "10000002");
+        builder.add(3L, "Ana", "Garrido", "ana.garrido@example.com", "20000003");
+        builder.add(4L, "Garcia", "Lopez", "garcia.lopez@example.com", "20000004");
+        index.finishRebuild(builder);
+    }
+
+    @Test
+    void testSuggest_PrefixIgnoresCaseAndListsLastNameMatchesFirst() {
+        // Act
+        List<CustomerResponse> result = index.suggest("GAR", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 4L), ids(result));
+    }
+
+    @Test
+    void testSuggest_TwoWords_MatchesFirstAndLastNameInEitherOrder() {
+        // Act
+        List<CustomerResponse> firstLast = index.suggest("mari gar", 10);
+        List<CustomerResponse> lastFirst = index.suggest("gomez mar", 10);
+
+        // Assert
+        assertEquals(List.of(1L), ids(firstLast));
+        assertEquals(List.of(2L), ids(lastFirst));
+    }
+
+    @Test
+    void testSuggest_EmailAndDniPrefixes() {
+        // Act & Assert
+        assertEquals(List.of(3L), ids(index.suggest("ana.g", 10)));
+        assertEquals(List.of(3L, 4L), ids(index.suggest("2000", 10)));
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        // Act
+        List<CustomerResponse> result = index.suggest("ma", 1);
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testPutAndRemove_OverrideTheBaseSegment() {
+        // Act
+        index.put(1L, "Maria", "Benitez", "maria.benitez@example.com", "10000001");
+        index.put(5L, "Gary", "Moore", "gary.moore@example.com", "30000005");
+        index.remove(3L);
+
+        // Assert
+        assertEquals(List.of(4L, 5L), ids(index.suggest("gar", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("ben", 10)));
+        assertEquals(3, index.pendingChanges());
+    }
+
+    @Test
+    void testFinishRebuild_KeepsWritesMadeDuringTheRebuild() {
+        // Arrange
+        CustomerAutocompleteIndex.Builder builder = index.startRebuild();
+        builder.add(1L, "Maria", "Garcia", "maria.garcia@example.com", "10000001");
+        builder.add(2L, "Mario", "Gomez", "mario.gomez@example.com", "10000002");
+        index.put(6L, "Gabriel", "Garay", "gabriel.garay@example.com", "40000006"); // Not read by the rebuild
+
+        // Act
+        index.finishRebuild(builder);
+
+        // Assert
+        assertEquals(List.of(6L, 1L), ids(index.suggest("gar", 10)));
+        assertEquals(2, index.baseSize());
+        assertTrue(index.memoryBytes() > 0);
+    }
+
+    private static List<Long> ids(List<CustomerResponse> customers) {
+        return customers.stream().map(CustomerResponse::getId).toList();
+    }
+}
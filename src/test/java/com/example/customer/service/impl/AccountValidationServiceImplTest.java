@@ -1,34 +1,60 @@
 package com.example.customer.service.impl;
 
 import com.example.customer.client.BankAccountClient;
+import com.example.customer.client.BankAccountServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AccountValidationServiceImplTest {
 
+    private static final int PARALLELISM = 3;
+
     @Mock
     private BankAccountClient bankAccountClient;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private AccountValidationServiceImpl accountValidationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        accountValidationService = new AccountValidationServiceImpl(bankAccountClient, meterRegistry, Duration.ofMinutes(1), 100,
+                PARALLELISM, false, 2);
     }
 
     @Test
     void testCanDeleteCustomer_WhenNoActiveAccounts_ShouldReturnTrue() {
         // Arrange
         Long customerId = 1L;
-        when(bankAccountClient.hasBankAccounts(customerId)).thenReturn(false); // Simulates that it doesn't have active accounts
+        when(bankAccountClient.hasBankAccountsAsync(customerId)).thenReturn(Mono.just(false)); // Simulates that it doesn't have active accounts
 
         // Act
         boolean result = accountValidationService.canDeleteCustomer(customerId);
@@ -41,7 +67,7 @@ class AccountValidationServiceImplTest {
     void testCanDeleteCustomer_WhenActiveAccountsExist_ShouldReturnFalse() {
         // Arrange
         Long customerId = 1L;
-        when(bankAccountClient.hasBankAccounts(customerId)).thenReturn(true); // Simulates that it has active accounts
+        when(bankAccountClient.hasBankAccountsAsync(customerId)).thenReturn(Mono.just(true)); // Simulates that it has active accounts
 
         // Act
         boolean result = accountValidationService.canDeleteCustomer(customerId);
@@ -49,4 +75,108 @@ class AccountValidationServiceImplTest {
         // Assert
         assertFalse(result, "Expected false when customer has active accounts");
     }
+
+    @Test
+    void testCanDeleteCustomer_WhenAccountServiceUnavailable_ShouldFailClosed() {
+        // Arrange
+        Long customerId = 1L;
+        when(bankAccountClient.hasBankAccountsAsync(customerId))
+                .thenReturn(Mono.error(new BankAccountServiceUnavailableException("circuit open"))) // Simulates a downstream outage
+                .thenReturn(Mono.just(false));
+
+        // Act & Assert
+        assertThrows(BankAccountServiceUnavailableException.class,
+                () -> accountValidationService.canDeleteCustomer(customerId));
+        assertTrue(accountValidationService.canDeleteCustomer(customerId), "Expected the failure not to be cached");
+        verify(bankAccountClient, times(2)).hasBankAccountsAsync(customerId);
+    }
+
+    @Test
+    void testCanDeleteCustomer_ConcurrentChecks_ShareOneCall() throws Exception {
+        // Arrange
+        Long customerId = 1L;
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        when(bankAccountClient.hasBankAccountsAsync(customerId)).thenReturn(Mono.fromFuture(response));
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> accountValidationService.canDeleteCustomer(customerId)));
+            }
+            Thread.sleep(100); // Let the checks pile up on the call in flight
+            response.complete(false);
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+
+        // Assert
+        verify(bankAccountClient, times(1)).hasBankAccountsAsync(customerId);
+        assertEquals(7.0, meterRegistry.get("cache.gets").tag("cache", "customer.account-checks").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testCanDeleteCustomer_ZeroTtl_ShouldNotCacheAnswers() {
+        // Arrange
+        accountValidationService = new AccountValidationServiceImpl(bankAccountClient, meterRegistry, Duration.ZERO, 100,
+                PARALLELISM, false, 2);
+        Long customerId = 1L;
+        when(bankAccountClient.hasBankAccountsAsync(customerId)).thenReturn(Mono.just(false)).thenReturn(Mono.just(true));
+
+        // Act
+        boolean first = accountValidationService.canDeleteCustomer(customerId);
+        boolean second = accountValidationService.canDeleteCustomer(customerId);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second, "Expected a new call once the answer expired");
+        verify(bankAccountClient, times(2)).hasBankAccountsAsync(customerId);
+    }
+
+    @Test
+    void testCanDeleteCustomers_BoundsCallsInFlight() {
+        // Arrange
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(bankAccountClient.hasBankAccountsAsync(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return Mono.delay(Duration.ofMillis(20))
+                    .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doOnNext(tick -> inFlight.decrementAndGet()) // Before the answer reaches the caller
+                    .then(id == 4L
+                            ? Mono.error(new BankAccountServiceUnavailableException("timeout"))
+                            : Mono.just(id % 2 == 0));
+        });
+
+        // Act
+        Map<Long, Boolean> result = accountValidationService.canDeleteCustomers(
+                LongStream.rangeClosed(1, 10).boxed().toList());
+
+        // Assert
+        assertEquals(9, result.size());
+        assertFalse(result.containsKey(4L), "Expected unverifiable customers to be left out");
+        assertTrue(result.get(1L));
+        assertFalse(result.get(2L));
+        assertTrue(maxInFlight.get() <= PARALLELISM, "At most " + PARALLELISM + " calls in flight, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void testCanDeleteCustomers_BatchEndpoint_OneCallPerBatch() {
+        // Arrange
+        accountValidationService = new AccountValidationServiceImpl(bankAccountClient, meterRegistry, Duration.ofMinutes(1), 100,
+                PARALLELISM, true, 2);
+        when(bankAccountClient.findCustomersWithBankAccountsAsync(List.of(1L, 2L))).thenReturn(Mono.just(Set.of(2L)));
+        when(bankAccountClient.findCustomersWithBankAccountsAsync(List.of(3L)))
+                .thenReturn(Mono.error(new BankAccountServiceUnavailableException("timeout")));
+
+        // Act
+        Map<Long, Boolean> result = accountValidationService.canDeleteCustomers(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(Map.of(1L, true, 2L, false), result);
+        assertFalse(accountValidationService.canDeleteCustomer(2L), "Expected the batch answer to be cached");
+        verify(bankAccountClient, never()).hasBankAccountsAsync(anyLong());
+    }
 }
@@ -0,0 +1,134 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.dto.BulkDeleteReport;
+import com.example.customer.dto.BulkDeleteResult;
+import com.example.customer.model.Customer;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.DniValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerBulkDeleteServiceImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private AccountValidationService accountValidationService;
+
+    @Mock
+    private DniValidationService dniValidationService;
+
+    @Mock
+    private CustomerResponseCache customerResponseCache;
+
+    @Mock
+    private CustomerAutocomplete customerAutocomplete;
+
+    @Mock
+    private CustomerOutbox customerOutbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache entityCache;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerBulkDeleteServiceImpl customerBulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(entityCache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        customerBulkDeleteService = new CustomerBulkDeleteServiceImpl(customerRepository, accountValidationService,
+                dniValidationService, customerResponseCache, customerAutocomplete, customerOutbox, entityManager,
+                transactionManager,
+                new SimpleMeterRegistry(), 2);
+    }
+
+    @Test
+    void testDeleteCustomers_ReportsEveryId() {
+        // Arrange
+        when(customerRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(customerRepository.findExistingIds(List.of(3L, 4L))).thenReturn(List.of(3L, 4L));
+        when(customerRepository.findExistingIds(List.of(5L))).thenReturn(List.of());
+        when(accountValidationService.canDeleteCustomers(List.of(1L, 2L, 3L, 4L))).thenReturn(Map.of(1L, true, 2L, false, 4L, true));
+        when(customerRepository.findExistingIds(List.of(1L, 4L))).thenReturn(List.of(1L, 4L));
+
+        // Act
+        BulkDeleteReport report = customerBulkDeleteService.deleteCustomers(List.of(1L, 2L, 3L, 4L, 5L, 1L));
+
+        // Assert
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getDeleted());
+        assertEquals(List.of(BulkDeleteResult.Status.DELETED, BulkDeleteResult.Status.HAS_ACCOUNTS,
+                        BulkDeleteResult.Status.UNVERIFIED, BulkDeleteResult.Status.DELETED, BulkDeleteResult.Status.NOT_FOUND),
+                report.getResults().stream().map(BulkDeleteResult::getStatus).toList());
+        verify(customerRepository).deleteCustomersByIds(List.of(1L, 4L)); // One DELETE ... IN for the eligible chunk
+        verify(customerOutbox).recordDeletions(List.of(1L, 4L));
+        verify(dniValidationService).unregisterDnis(2); // Once per chunk
+        verify(entityCache).evict(Customer.class, 1L); // Only the deleted customers leave the entity cache
+        verify(entityCache).evict(Customer.class, 4L);
+        verify(entityCache, never()).evict(Customer.class);
+        verify(hibernateCache).evictNaturalIdData(Customer.class); // Once per job
+        verify(customerResponseCache).invalidate(4L);
+        verify(customerAutocomplete).remove(1L);
+    }
+
+    @Test
+    void testDeleteCustomers_ChunkFailure_MarksIdsAsFailed() {
+        // Arrange
+        when(customerRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+        when(accountValidationService.canDeleteCustomers(List.of(1L))).thenReturn(Map.of(1L, true));
+        when(customerRepository.deleteCustomersByIds(anyCollection())).thenThrow(new QueryTimeoutException("Lock wait timeout"));
+
+        // Act
+        BulkDeleteReport report = customerBulkDeleteService.deleteCustomers(List.of(1L));
+
+        // Assert
+        assertEquals(0, report.getDeleted());
+        assertEquals(BulkDeleteResult.Status.FAILED, report.getResults().get(0).getStatus());
+        verify(dniValidationService, never()).unregisterDnis(anyInt());
+        verify(entityCache, never()).evict(Customer.class, 1L);
+        verify(hibernateCache, never()).evictNaturalIdData(Customer.class);
+        verify(customerResponseCache, never()).invalidate(1L);
+    }
+}
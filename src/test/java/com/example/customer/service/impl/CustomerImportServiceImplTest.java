@@ -0,0 +1,182 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.dto.ImportReport;
+import com.example.customer.dto.ImportRowResult;
+import com.example.customer.mapper.MalformedImportFileException;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.DniValidationService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerImportServiceImplTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private DniValidationService dniValidationService;
+
+    @Mock
+    private CustomerAutocomplete customerAutocomplete;
+
+    @Mock
+    private CustomerOutbox customerOutbox;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerImportServiceImpl customerImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerImportService = new CustomerImportServiceImpl(customerRepository, dniValidationService, customerAutocomplete, customerOutbox,
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void testImportCustomers_ReportsEveryRow() {
+        // Arrange
+        List<Customer> customers = List.of(
+                new Customer("John", "Doe", "11111111", "john.doe@example.com"),
+                new Customer("Jane", "Smith", "22222222", "jane.smith@example.com"),
+                new Customer("Bad", "Email", "33333333", "not-an-email"),
+                new Customer("John", "Again", "11111111", "john.again@example.com"),
+                new Customer("Old", "Customer", "44444444", "old.customer@example.com"));
+        when(customerRepository.findExistingDnis(List.of("11111111", "22222222"))).thenReturn(List.of());
+        when(customerRepository.findExistingDnis(List.of("44444444"))).thenReturn(List.of("44444444"));
+
+        // Act
+        ImportReport report = customerImportService.importCustomers(customers.iterator());
+
+        // Assert
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(3, report.getRejected());
+        assertEquals(List.of(ImportRowResult.Status.CREATED, ImportRowResult.Status.CREATED,
+                        ImportRowResult.Status.INVALID, ImportRowResult.Status.DUPLICATE, ImportRowResult.Status.DUPLICATE),
+                report.getRows().stream().map(ImportRowResult::getStatus).toList());
+        verify(customerRepository, times(2)).findExistingDnis(anyCollection()); // One IN query per chunk
+        verify(entityManager, times(2)).flush();
+        verify(dniValidationService).registerDni("11111111");
+        verify(dniValidationService).registerDni("22222222");
+        verify(dniValidationService, never()).registerDni("44444444");
+        verify(customerOutbox).recordAll(CustomerChangeEvent.Type.CREATED, customers.subList(0, 2)); // One batch per chunk
+    }
+
+    @Test
+    void testImportCustomers_ChunkFailure_MarksRowsAsFailed() {
+        // Arrange
+        List<Customer> customers = List.of(new Customer("John", "Doe", "11111111", "john.doe@example.com"));
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(List.of());
+        when(customerRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // Act
+        ImportReport report = customerImportService.importCustomers(customers.iterator());
+
+        // Assert
+        assertEquals(0, report.getCreated());
+        assertEquals(ImportRowResult.Status.FAILED, report.getRows().get(0).getStatus());
+        verify(dniValidationService, never()).registerDni("11111111");
+    }
+
+    @Test
+    void testImportCustomers_ChunkFailure_RetriesRowByRow() {
+        // Arrange
+        Customer john = new Customer("John", "Doe", "11111111", "john.doe@example.com");
+        Customer jane = new Customer("Jane", "Smith", "22222222", "jane.smith@example.com");
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("Duplicate entry",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_CUSTOMERS_DNI_INDEX_1 ON PUBLIC.CUSTOMERS(DNI)\"", "23505"));
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(List.of());
+        when(customerRepository.saveAll(List.of(john, jane))).thenThrow(duplicate);
+        when(customerRepository.saveAll(List.of(jane))).thenThrow(duplicate);
+
+        // Act
+        ImportReport report = customerImportService.importCustomers(List.of(john, jane).iterator());
+
+        // Assert
+        assertEquals(1, report.getCreated());
+        assertEquals(List.of(ImportRowResult.Status.CREATED, ImportRowResult.Status.DUPLICATE),
+                report.getRows().stream().map(ImportRowResult::getStatus).toList());
+        verify(customerRepository).saveAll(List.of(john));
+        verify(dniValidationService).registerDni("11111111");
+        verify(dniValidationService, never()).registerDni("22222222");
+        verify(customerOutbox).recordAll(CustomerChangeEvent.Type.CREATED, List.of(john));
+    }
+
+    @Test
+    void testImportCustomers_OtherUniqueViolation_MarksRowAsFailed() {
+        // Arrange
+        Customer john = new Customer("John", "Doe", "11111111", "john.doe@example.com");
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(List.of());
+        when(customerRepository.saveAll(List.of(john))).thenThrow(new DataIntegrityViolationException("Duplicate entry",
+                new SQLException("Duplicate entry '7' for key 'customer_outbox.PRIMARY'", "23000", 1062)));
+
+        // Act
+        ImportReport report = customerImportService.importCustomers(List.of(john).iterator());
+
+        // Assert
+        assertEquals(ImportRowResult.Status.FAILED, report.getRows().get(0).getStatus());
+    }
+
+    @Test
+    void testImportCustomers_MalformedRow_ImportsRowsReadBeforeIt() {
+        // Arrange
+        Customer john = new Customer("John", "Doe", "11111111", "john.doe@example.com");
+        Iterator<Customer> customers = new Iterator<>() {
+            private boolean read;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Customer next() {
+                if (read) {
+                    throw new MalformedImportFileException("Malformed JSON import file: unexpected end-of-input.", null);
+                }
+                read = true;
+                return john;
+            }
+        };
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(List.of());
+
+        // Act
+        ImportReport report = customerImportService.importCustomers(customers);
+
+        // Assert
+        assertEquals(2, report.getTotal());
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getRejected());
+        ImportRowResult malformed = report.getRows().get(1);
+        assertEquals(2, malformed.getRow());
+        assertEquals(ImportRowResult.Status.INVALID, malformed.getStatus());
+        verify(customerRepository).saveAll(List.of(john));
+    }
+}
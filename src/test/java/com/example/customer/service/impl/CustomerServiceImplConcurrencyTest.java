@@ -0,0 +1,221 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.config.EntityCacheConfig;
+import com.example.customer.model.Customer;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.DuplicateDniException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Races creates and updates carrying the same DNIs from many threads against H2, with the real DNI
+ * validation (Bloom filter and entity cache included), and counts the INSERT and UPDATE statements
+ * that reach the database: every losing write must be rejected before it sends one.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dni-races;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.customer.service.impl.CustomerServiceImplConcurrencyTest$CustomerWriteCounter",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The service runs its own transactions
+class CustomerServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int DNIS = 40;
+    private static final int ATTEMPTS_PER_DNI = 8;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DniValidationServiceImpl dniValidationService;
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dniValidationService = new DniValidationServiceImpl(customerRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, true, 10_000, 0.01);
+        customerService = new CustomerServiceImpl(customerRepository, dniValidationService,
+                mock(AccountValidationService.class), entityManager,
+                new CustomerResponseCache(meterRegistry, false, 0, Duration.ZERO),
+                new CustomerAutocomplete(customerRepository, meterRegistry, false),
+                new CustomerOutbox(changeEventRepository, Duration.ofSeconds(2)),
+                new TransactionTemplate(transactionManager), meterRegistry);
+        dniValidationService.rebuild(); // Checks of new DNIs are answered by the filter, the path most exposed to races
+        CustomerWriteCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeEventRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    void testConcurrentCreates_SameDni_NoWastedInserts() throws Exception {
+        // Arrange
+        List<Callable<Customer>> creates = new ArrayList<>();
+        for (int attempt = 0; attempt < ATTEMPTS_PER_DNI; attempt++) {
+            for (int i = 0; i < DNIS; i++) {
+                String dni = String.valueOf(20_000_000 + i);
+                creates.add(() -> customerService.createCustomer(new Customer("Race", "Create", dni, "race" + dni + "@example.com")));
+            }
+        }
+        Collections.shuffle(creates);
+
+        // Act
+        Outcomes outcomes = runConcurrently(creates);
+
+        // Assert
+        assertEquals(List.of(), List.copyOf(outcomes.unexpected));
+        assertEquals(DNIS, outcomes.succeeded.get());
+        assertEquals(DNIS * (ATTEMPTS_PER_DNI - 1), outcomes.duplicates.get());
+        assertEquals(DNIS, CustomerWriteCounter.INSERTS.get()); // One per DNI: no insert failed on the unique index
+        assertEquals(DNIS, customerRepository.count());
+    }
+
+    @Test
+    void testConcurrentUpdatesAndCreates_SameDni_NoWastedWrites() throws Exception {
+        // Arrange: every customer tries to take one of a few DNIs, while creates race for the same DNIs
+        int targets = 4;
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < targets * ATTEMPTS_PER_DNI; i++) {
+            customers.add(customerService.createCustomer(new Customer("Race", "Update", String.valueOf(30_000_000 + i),
+                    "update" + i + "@example.com")));
+        }
+        CustomerWriteCounter.reset();
+        List<Callable<Customer>> writes = new ArrayList<>();
+        for (int i = 0; i < customers.size(); i++) {
+            Customer existing = customers.get(i);
+            String dni = String.valueOf(40_000_000 + i % targets);
+            writes.add(() -> customerService.updateCustomer(existing.getId(),
+                    new Customer("Race", "Update", dni, existing.getEmail())));
+            writes.add(() -> customerService.createCustomer(new Customer("Race", "Create", dni, "create" + dni + "@example.com")));
+        }
+        Collections.shuffle(writes);
+
+        // Act
+        Outcomes outcomes = runConcurrently(writes);
+
+        // Assert
+        assertEquals(List.of(), List.copyOf(outcomes.unexpected));
+        assertEquals(targets, outcomes.succeeded.get());
+        assertEquals(writes.size() - targets, outcomes.duplicates.get());
+        assertEquals(targets, CustomerWriteCounter.INSERTS.get() + CustomerWriteCounter.UPDATES.get());
+        for (int i = 0; i < targets; i++) {
+            assertEquals(1, customerRepository.findAllByDniIn(List.of(String.valueOf(40_000_000 + i))).size());
+        }
+    }
+
+    private static Outcomes runConcurrently(List<Callable<Customer>> tasks) throws Exception {
+        Outcomes outcomes = new Outcomes();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Callable<Customer> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.call();
+                        outcomes.succeeded.incrementAndGet();
+                    } catch (DuplicateDniException e) {
+                        outcomes.duplicates.incrementAndGet();
+                    } catch (Exception e) {
+                        outcomes.unexpected.add(e.toString()); // Such as a DataIntegrityViolationException from the index
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return outcomes;
+    }
+
+    private static final class Outcomes {
+
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+        private final ConcurrentLinkedQueue<String> unexpected = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Counts the INSERT and UPDATE statements Hibernate prepares on the customers table, whether or not
+     * the database accepts them.
+     */
+    public static final class CustomerWriteCounter implements StatementInspector {
+
+        static final AtomicInteger INSERTS = new AtomicInteger();
+        static final AtomicInteger UPDATES = new AtomicInteger();
+
+        static void reset() {
+            INSERTS.set(0);
+            UPDATES.set(0);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+            if (statement.startsWith("insert into customers ")) {
+                INSERTS.incrementAndGet();
+            } else if (statement.startsWith("update customers ")) {
+                UPDATES.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
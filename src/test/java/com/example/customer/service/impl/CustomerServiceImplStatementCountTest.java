@@ -0,0 +1,220 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.config.EntityCacheConfig;
+import com.example.customer.model.Customer;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.CustomerVersionMismatchException;
+import com.example.customer.service.DniValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements each write sends to H2 with the entity cache on. The customer is read from
+ * the cache, so every write is one statement on the customers table plus the insert of its outbox
+ * event; a stale version costs one lookup to confirm it against the database. A customer that is not
+ * cached is deleted in one statement too, without clearing the cache entries of other customers.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The service runs its own transactions
+class CustomerServiceImplStatementCountTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DniValidationService dniValidationService;
+
+    @Mock
+    private AccountValidationService accountValidationService;
+
+    @Mock
+    private CustomerResponseCache customerResponseCache;
+
+    @Mock
+    private CustomerAutocomplete customerAutocomplete;
+
+    private Statistics statistics;
+
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerService = new CustomerServiceImpl(customerRepository, dniValidationService, accountValidationService,
+                entityManager, customerResponseCache, customerAutocomplete,
+                new CustomerOutbox(changeEventRepository, Duration.ofSeconds(2)),
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        when(dniValidationService.isUnique(anyString())).thenReturn(true);
+        when(accountValidationService.canDeleteCustomer(anyLong())).thenReturn(true);
+        // Allocate the first block of the customer sequence, so no test pays for it
+        customerService.createCustomer(new Customer("Warm", "Up", "00000000", "warm.up@example.com"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeEventRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreateCustomer_InsertsCustomerAndEvent() {
+        // Act
+        customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUpdateCustomer_CachedCustomer_UpdatesWithoutReading() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act
+        Customer updated = customerService.updateCustomer(customer.getId(),
+                new Customer("Johnny", "Doe", "87654321", "john.doe@example.com"), customer.getVersion());
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount()); // UPDATE and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(customer.getVersion() + 1, updated.getVersion());
+        assertEquals("87654321", customerRepository.findById(customer.getId()).orElseThrow().getDni());
+    }
+
+    @Test
+    void testUpdateCustomer_StaleVersion_WritesNothing() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act & Assert
+        assertThrows(CustomerVersionMismatchException.class, () -> customerService.updateCustomer(customer.getId(),
+                new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), customer.getVersion() + 1));
+        assertEquals(1, statistics.getPrepareStatementCount()); // The SELECT confirming the cached version
+        assertEquals(0, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testDeleteCustomer_CachedCustomer_DeletesWithoutReading() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act
+        boolean deleted = customerService.deleteCustomer(customer.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(2, statistics.getPrepareStatementCount()); // DELETE and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(customerRepository.existsById(customer.getId()));
+    }
+
+    @Test
+    void testUpdateCustomer_UncachedCustomer_UpdatesByIdAndKeepsOtherEntries() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        Customer other = customerService.createCustomer(new Customer("Jane", "Doe", "87654321", "jane.doe@example.com"));
+        entityManagerFactory.getCache().evict(Customer.class, customer.getId());
+        statistics.clear();
+
+        // Act
+        Customer updated = customerService.updateCustomer(customer.getId(),
+                new Customer("Johnny", "Doe", "11111111", "john.doe@example.com"), customer.getVersion());
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount()); // UPDATE by ID and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(customer.getVersion() + 1, updated.getVersion());
+        assertTrue(entityManagerFactory.getCache().contains(Customer.class, other.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Customer.class, customer.getId()));
+        assertEquals("11111111", customerRepository.findById(customer.getId()).orElseThrow().getDni());
+        assertTrue(customerRepository.findByDni("12345678").isEmpty()); // The old DNI entry is ignored
+    }
+
+    @Test
+    void testDeleteCustomer_UncachedCustomer_DeletesByIdAndKeepsOtherEntries() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        Customer other = customerService.createCustomer(new Customer("Jane", "Doe", "87654321", "jane.doe@example.com"));
+        entityManagerFactory.getCache().evict(Customer.class, customer.getId());
+        statistics.clear();
+
+        // Act
+        boolean deleted = customerService.deleteCustomer(customer.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(2, statistics.getPrepareStatementCount()); // DELETE by ID and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(entityManagerFactory.getCache().contains(Customer.class, other.getId()));
+        assertTrue(customerRepository.findByDni("12345678").isEmpty());
+        assertTrue(customerRepository.findByDni("87654321").isPresent());
+    }
+
+    @Test
+    void testDeleteCustomer_UnknownCustomer_WritesNothing() {
+        // Act
+        boolean deleted = customerService.deleteCustomer(-1L);
+
+        // Assert
+        assertFalse(deleted);
+        assertEquals(1, statistics.getPrepareStatementCount()); // The DELETE matching no row
+    }
+}
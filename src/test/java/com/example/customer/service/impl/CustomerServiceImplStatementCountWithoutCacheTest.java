@@ -0,0 +1,158 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.config.EntityCacheConfig;
+import com.example.customer.model.Customer;
+import com.example.customer.outbox.CustomerOutbox;
+import com.example.customer.repository.CustomerChangeEventRepository;
+import com.example.customer.repository.CustomerRepository;
+import com.example.customer.search.CustomerAutocomplete;
+import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.CustomerVersionMismatchException;
+import com.example.customer.service.DniValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the SQL statements each write sends to H2 with the entity cache off. An update is a single UPDATE
+ * by ID and a delete a single DELETE by ID; neither reads the customer. Each write also inserts its outbox event.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements-uncached;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "customer.entity-cache.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EntityCacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The service runs its own transactions
+class CustomerServiceImplStatementCountWithoutCacheTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DniValidationService dniValidationService;
+
+    @Mock
+    private AccountValidationService accountValidationService;
+
+    @Mock
+    private CustomerResponseCache customerResponseCache;
+
+    @Mock
+    private CustomerAutocomplete customerAutocomplete;
+
+    private Statistics statistics;
+
+    private CustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerService = new CustomerServiceImpl(customerRepository, dniValidationService, accountValidationService,
+                entityManager, customerResponseCache, customerAutocomplete,
+                new CustomerOutbox(changeEventRepository, Duration.ofSeconds(2)),
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+        when(dniValidationService.isUnique(anyString())).thenReturn(true);
+        when(accountValidationService.canDeleteCustomer(anyLong())).thenReturn(true);
+        // Allocate the first block of the customer sequence, so no test pays for it
+        customerService.createCustomer(new Customer("Warm", "Up", "00000000", "warm.up@example.com"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeEventRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testUpdateCustomer_UpdatesWithoutReading() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act
+        Customer updated = customerService.updateCustomer(customer.getId(),
+                new Customer("Johnny", "Doe", "87654321", "john.doe@example.com"), customer.getVersion());
+
+        // Assert
+        assertEquals(2, statistics.getPrepareStatementCount()); // UPDATE by ID and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(customer.getVersion() + 1, updated.getVersion());
+        assertEquals("87654321", customerRepository.findById(customer.getId()).orElseThrow().getDni());
+    }
+
+    @Test
+    void testUpdateCustomer_StaleVersion_WritesNothing() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act & Assert
+        assertThrows(CustomerVersionMismatchException.class, () -> customerService.updateCustomer(customer.getId(),
+                new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), customer.getVersion() + 1));
+        assertEquals(2, statistics.getPrepareStatementCount()); // The UPDATE matching no row and the existence check
+        assertEquals(0, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testDeleteCustomer_DeletesWithoutReading() {
+        // Arrange
+        Customer customer = customerService.createCustomer(new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        statistics.clear();
+
+        // Act
+        boolean deleted = customerService.deleteCustomer(customer.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(2, statistics.getPrepareStatementCount()); // DELETE by ID and the outbox INSERT
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(customerRepository.existsById(customer.getId()));
+    }
+}
@@ -1,18 +1,41 @@
 package com.example.customer.service.impl;
 
+import com.example.customer.cache.CustomerResponseCache;
+import com.example.customer.dto.BatchGetResponse;
+import com.example.customer.dto.CustomerPage;
+import com.example.customer.dto.CustomerResponse;
+import com.example.customer.dto.CustomerSearchCriteria;
 import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerChangeEvent;
+import com.example.customer.outbox.CustomerOutbox;
 import com.example.customer.repository.CustomerRepository;
+import com.example.customer.repository.CustomerSearchOrder;
+import com.example.customer.search.CustomerAutocomplete;
 import com.example.customer.service.AccountValidationService;
+import com.example.customer.service.CustomerVersionMismatchException;
 import com.example.customer.service.DniValidationService;
+import com.example.customer.service.DuplicateDniException;
+import com.example.customer.util.CursorCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,12 +51,37 @@ class CustomerServiceImplTest {
     @Mock
     private AccountValidationService accountValidationService;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache entityCache;
+
+    @Mock
+    private CustomerResponseCache customerResponseCache;
+
+    @Mock
+    private CustomerAutocomplete customerAutocomplete;
+
+    @Mock
+    private CustomerOutbox customerOutbox;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private CustomerServiceImpl customerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(entityCache);
+        customerService = new CustomerServiceImpl(customerRepository, dniValidationService, accountValidationService,
+                entityManager, customerResponseCache, customerAutocomplete, customerOutbox,
+                TransactionOperations.withoutTransaction(), meterRegistry);
     }
 
     @Test
@@ -49,6 +97,8 @@ class CustomerServiceImplTest {
         // Assert
         assertEquals(customer, result);
         verify(customerRepository).save(customer);
+        verify(customerOutbox).record(CustomerChangeEvent.Type.CREATED, customer);
+        verify(customerAutocomplete).index(customer);
     }
 
     @Test
@@ -58,25 +108,130 @@ class CustomerServiceImplTest {
         when(dniValidationService.isUnique(customer.getDni())).thenReturn(false);
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> customerService.createCustomer(customer));
+        assertThrows(DuplicateDniException.class, () -> customerService.createCustomer(customer));
         verify(customerRepository, never()).save(any(Customer.class));
+        assertEquals(1.0, meterRegistry.get("customer.dni.conflicts").tag("operation", "create").counter().count());
+    }
+
+    @Test
+    void testSearchCustomers_FullPage_ReturnsCursorOnSortColumn() {
+        // Arrange
+        Customer first = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        first.setId(1L);
+        Customer second = new Customer("Jane", "Dobson", "12345679", "jane.dobson@example.com");
+        second.setId(2L);
+        when(customerRepository.findFirstMatching(any(), eq(CustomerSearchOrder.LAST_NAME), eq(2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        CustomerPage result = customerService.searchCustomers(new CustomerSearchCriteria(null, "j", "do", null), null, 1);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(new CursorCodec.Position("Doe", 1L), CursorCodec.decodePosition(result.getNext()));
+    }
+
+    @Test
+    void testSearchCustomers_WithDniAndName_SortsByDni() {
+        // Arrange
+        when(customerRepository.findFirstMatching(any(), eq(CustomerSearchOrder.DNI), eq(21))).thenReturn(List.of());
+
+        // Act
+        CustomerPage result = customerService.searchCustomers(new CustomerSearchCriteria("123", null, "do", null), null, 20);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertNull(result.getNext());
     }
 
     @Test
-    void testGetAllCustomers() {
+    void testSearchCustomers_WithoutCriteria_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> customerService.searchCustomers(
+                new CustomerSearchCriteria(null, " ", "", null), null, 20));
+        verify(customerRepository, never()).findFirstMatching(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSearchCustomers_NonNumericDniPrefix_ThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> customerService.searchCustomers(
+                new CustomerSearchCriteria("12a", null, null, null), null, 20));
+        verify(customerRepository, never()).findFirstMatching(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetCustomersAfter_WithoutCursor_StartsFromBeginning() {
         // Arrange
-        List<Customer> customers = Arrays.asList(
-                new Customer("John", "Doe", "12345678", "john.doe@example.com"),
-                new Customer("Jane", "Smith", "87654321", "jane.smith@example.com")
-        );
-        when(customerRepository.findAll()).thenReturn(customers);
+        List<CustomerResponse> customers = List.of(new CustomerResponse(1L, "John", "Doe", "12345678", "john.doe@example.com", 0L));
+        when(customerRepository.findResponsesByIdGreaterThan(0L, Limit.of(10))).thenReturn(customers);
 
         // Act
-        List<Customer> result = customerService.getAllCustomers();
+        List<CustomerResponse> result = customerService.getCustomersAfter(null, 10);
 
         // Assert
         assertEquals(customers, result);
-        verify(customerRepository).findAll();
+        verify(customerRepository).findResponsesByIdGreaterThan(0L, Limit.of(10));
+    }
+
+    @Test
+    void testGetCustomersAfter_WithCursor() {
+        // Arrange
+        when(customerRepository.findResponsesByIdGreaterThan(42L, Limit.of(5))).thenReturn(List.of());
+
+        // Act
+        List<CustomerResponse> result = customerService.getCustomersAfter(42L, 5);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(customerRepository).findResponsesByIdGreaterThan(42L, Limit.of(5));
+    }
+
+    @Test
+    void testStreamAllCustomers_DetachesEachCustomer() {
+        // Arrange
+        Customer john = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        Customer jane = new Customer("Jane", "Smith", "87654321", "jane.smith@example.com");
+        when(customerRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(john, jane));
+        List<Customer> consumed = new ArrayList<>();
+
+        // Act
+        customerService.streamAllCustomers(consumed::add);
+
+        // Assert
+        assertEquals(List.of(john, jane), consumed);
+        verify(entityManager).detach(john);
+        verify(entityManager).detach(jane);
+    }
+
+    @Test
+    void testAutocompleteCustomers_IndexReady_SkipsDatabase() {
+        // Arrange
+        List<CustomerResponse> suggestions = List.of(new CustomerResponse(1L, "John", "Doe", "12345678", "john.doe@example.com"));
+        when(customerAutocomplete.suggest("do", 10)).thenReturn(Optional.of(suggestions));
+
+        // Act
+        List<CustomerResponse> result = customerService.autocompleteCustomers(" do ", 10);
+
+        // Assert
+        assertEquals(suggestions, result);
+        verify(customerRepository, never()).findFirstMatching(any(), any(), anyInt());
+    }
+
+    @Test
+    void testAutocompleteCustomers_IndexNotReady_SearchesDniPrefix() {
+        // Arrange
+        Customer customer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        customer.setId(1L);
+        when(customerAutocomplete.suggest("1234", 10)).thenReturn(Optional.empty());
+        when(customerRepository.findFirstMatching(any(), eq(CustomerSearchOrder.DNI), eq(11))).thenReturn(List.of(customer));
+
+        // Act
+        List<CustomerResponse> result = customerService.autocompleteCustomers("1234", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("12345678", result.get(0).getDni());
     }
 
     @Test
@@ -109,29 +264,198 @@ class CustomerServiceImplTest {
         verify(customerRepository).findById(customerId);
     }
 
+    @Test
+    void testGetCustomersByIdsAndDnis_UsesCacheThenSingleQueries() {
+        // Arrange
+        Customer jane = new Customer("Jane", "Smith", "87654321", "jane.smith@example.com");
+        jane.setId(2L);
+        Customer ana = new Customer("Ana", "Lopez", "11112222", "ana.lopez@example.com");
+        ana.setId(3L);
+        when(customerResponseCache.getIfPresent(1L))
+                .thenReturn(Optional.of(new CustomerResponse(1L, "John", "Doe", "12345678", "john.doe@example.com")));
+        when(customerResponseCache.getIfPresent(2L)).thenReturn(Optional.empty());
+        when(customerResponseCache.getIfPresent(9L)).thenReturn(Optional.empty());
+        when(customerRepository.findAllById(any())).thenReturn(List.of(jane));
+        when(customerRepository.findAllByDniIn(any())).thenReturn(List.of(ana, jane));
+
+        // Act
+        BatchGetResponse result = customerService.getCustomersByIdsAndDnis(
+                List.of(1L, 2L, 9L), List.of("11112222", "87654321", "00000000"));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), result.getFound().stream().map(CustomerResponse::getId).toList());
+        assertEquals(List.of(9L), result.getMissingIds());
+        assertEquals(List.of("00000000"), result.getMissingDnis());
+        verify(customerRepository).findAllById(Set.of(2L, 9L));
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetCustomerResponseById_NotInEntityCache_ProjectsWithoutEntity() {
+        // Arrange
+        CustomerResponse john = new CustomerResponse(1L, "John", "Doe", "12345678", "john.doe@example.com", 0L);
+        loadThroughResponseCache();
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(false);
+        when(customerRepository.findResponseById(1L)).thenReturn(Optional.of(john));
+
+        // Act
+        Optional<CustomerResponse> result = customerService.getCustomerResponseById(1L);
+
+        // Assert
+        assertEquals(Optional.of(john), result);
+        verify(customerRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetCustomerResponseById_InEntityCache_ReadsEntity() {
+        // Arrange
+        loadThroughResponseCache();
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer(1L, "John", "12345678", 3L)));
+
+        // Act
+        Optional<CustomerResponse> result = customerService.getCustomerResponseById(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(3L, result.get().getVersion());
+        verify(customerRepository, never()).findResponseById(any());
+    }
+
     @Test
     void testUpdateCustomer_Success() {
         // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
         Long customerId = 1L;
-        Customer existingCustomer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        Customer existingCustomer = customer(customerId, "John", "12345678", 3L);
         Customer updatedCustomer = new Customer("John", "Doe", "87654321", "john.doe@example.com");
 
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
-        when(dniValidationService.isUnique(updatedCustomer.getDni())).thenReturn(true);
-        when(customerRepository.save(existingCustomer)).thenReturn(existingCustomer);
+        when(dniValidationService.isUnique("87654321")).thenReturn(true);
+        when(customerRepository.saveAndFlush(existingCustomer)).thenAnswer(invocation -> {
+            existingCustomer.setVersion(4L); // Incremented by the flush
+            return existingCustomer;
+        });
 
         // Act
-        Customer result = customerService.updateCustomer(customerId, updatedCustomer);
+        Customer result = customerService.updateCustomer(customerId, updatedCustomer, 3L);
 
         // Assert
-        assertEquals(existingCustomer, result);
+        assertEquals(customerId, result.getId());
         assertEquals("87654321", result.getDni());
-        verify(customerRepository).save(existingCustomer);
+        assertEquals(4L, result.getVersion());
+        verify(customerOutbox).record(CustomerChangeEvent.Type.UPDATED, result);
+        verify(customerResponseCache).invalidate(customerId);
+        verify(dniValidationService).registerUpdatedDni("12345678", "87654321");
+        verify(entityCache, never()).evict(any(), any());
+        verify(customerRepository, never()).updateCustomerById(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateCustomer_StaleExpectedVersion_ThrowsVersionMismatch() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer(1L, "John", "12345678", 3L)));
+
+        // Act & Assert
+        assertThrows(CustomerVersionMismatchException.class, () -> customerService.updateCustomer(1L,
+                new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), 2L));
+        verify(entityCache).evict(Customer.class, 1L); // Checked once more against the database
+        verify(customerRepository, times(2)).findById(1L);
+        verify(customerRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(customerOutbox);
+        verify(customerResponseCache, never()).invalidate(any());
+    }
+
+    @Test
+    void testUpdateCustomer_EntityCacheBehind_RetriesFromDatabase() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        Customer cached = customer(1L, "John", "12345678", 2L); // Updated to version 3 by another instance
+        Customer current = customer(1L, "John", "12345678", 3L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(cached)).thenReturn(Optional.of(current));
+        when(customerRepository.saveAndFlush(current)).thenReturn(current);
+
+        // Act
+        Customer result = customerService.updateCustomer(1L, new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), 3L);
+
+        // Assert
+        assertEquals("Johnny", result.getFirstName());
+        verify(entityCache).evict(Customer.class, 1L);
+        verify(customerOutbox).record(CustomerChangeEvent.Type.UPDATED, current);
+    }
+
+    @Test
+    void testUpdateCustomer_ConcurrentUpdate_RetriedWithoutExpectedVersion() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        Customer existingCustomer = customer(1L, "John", "12345678", 3L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.saveAndFlush(existingCustomer))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L))
+                .thenReturn(existingCustomer);
+
+        // Act
+        Customer result = customerService.updateCustomer(1L, new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"));
+
+        // Assert
+        assertEquals("Johnny", result.getFirstName());
+        verify(entityCache).evict(Customer.class, 1L);
+        verify(customerOutbox, times(1)).record(CustomerChangeEvent.Type.UPDATED, existingCustomer);
+    }
+
+    @Test
+    void testUpdateCustomer_DniTaken_RejectedBeforeWriting() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        Customer update = new Customer("Johnny", "Doe", "87654321", "john.doe@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer(1L, "John", "12345678", 0L)));
+        when(dniValidationService.isUnique("87654321")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(DuplicateDniException.class, () -> customerService.updateCustomer(1L, update));
+        assertEquals(1.0, meterRegistry.get("customer.dni.conflicts").tag("operation", "update").counter().count());
+        verify(customerRepository, never()).saveAndFlush(any());
+        verify(entityCache, never()).evict(any(), any());
+        verifyNoInteractions(customerOutbox);
+    }
+
+    @Test
+    void testUpdateCustomer_SameDni_NotChecked() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        Customer existingCustomer = customer(1L, "John", "12345678", 0L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
+        when(customerRepository.saveAndFlush(existingCustomer)).thenReturn(existingCustomer);
+
+        // Act
+        customerService.updateCustomer(1L, new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"));
+
+        // Assert
+        verify(dniValidationService, never()).isUnique(any());
+    }
+
+    @Test
+    void testUpdateCustomer_DniTakenOnAnotherInstance_CountsConflict() {
+        // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
+        Customer update = new Customer("Johnny", "Doe", "87654321", "john.doe@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer(1L, "John", "12345678", 0L)));
+        when(dniValidationService.isUnique("87654321")).thenReturn(true); // Not committed yet when checked
+        when(customerRepository.saveAndFlush(any())).thenThrow(new DuplicateKeyException("Duplicate entry '87654321' for key 'customers.uk_customers_dni'"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> customerService.updateCustomer(1L, update));
+        assertEquals(1.0, meterRegistry.get("customer.dni.conflicts").tag("operation", "update").counter().count());
+        verify(customerResponseCache, never()).invalidate(any());
+        verify(dniValidationService, never()).registerUpdatedDni(any(), any());
+        verifyNoInteractions(customerOutbox);
     }
 
     @Test
     void testUpdateCustomer_NotFound_ThrowsException() {
         // Arrange
+        when(entityCache.contains(Customer.class, 1L)).thenReturn(true);
         Long customerId = 1L;
         Customer updatedCustomer = new Customer("John", "Doe", "87654321", "john.doe@example.com");
 
@@ -139,16 +463,76 @@ class CustomerServiceImplTest {
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> customerService.updateCustomer(customerId, updatedCustomer));
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(customerOutbox);
+    }
+
+    @Test
+    void testUpdateCustomer_NotCached_UpdatesById() {
+        // Arrange
+        when(customerRepository.updateCustomerById(1L, "Johnny", "Doe", "87654321", "john.doe@example.com", 3L)).thenReturn(1);
+
+        // Act
+        Customer result = customerService.updateCustomer(1L, new Customer("Johnny", "Doe", "87654321", "john.doe@example.com"), 3L);
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertEquals(4L, result.getVersion());
+        verify(customerRepository, never()).findById(any());
+        verify(dniValidationService, never()).isUnique(any()); // Left to the unique index
+        verify(customerOutbox).record(CustomerChangeEvent.Type.UPDATED, result);
+        verify(entityCache).evict(Customer.class, 1L);
+        verify(customerResponseCache).invalidate(1L);
+        verify(dniValidationService).registerUpdatedDni(null, "87654321"); // The previous DNI was not read
+    }
+
+    @Test
+    void testUpdateCustomer_NotCachedWithoutExpectedVersion_VersionUnknown() {
+        // Arrange
+        when(customerRepository.updateCustomerById(1L, "Johnny", "Doe", "12345678", "john.doe@example.com", null)).thenReturn(1);
+
+        // Act
+        Customer result = customerService.updateCustomer(1L, new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"));
+
+        // Assert
+        assertNull(result.getVersion());
+        verify(customerRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testUpdateCustomer_NotCachedStaleVersion_ThrowsVersionMismatch() {
+        // Arrange
+        when(customerRepository.updateCustomerById(eq(1L), any(), any(), any(), any(), eq(2L))).thenReturn(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(CustomerVersionMismatchException.class, () -> customerService.updateCustomer(1L,
+                new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), 2L));
+        verifyNoInteractions(customerOutbox);
+        verify(entityCache, never()).evict(any(), any());
+        verify(customerResponseCache, never()).invalidate(any());
+    }
+
+    @Test
+    void testUpdateCustomer_NotCachedNotFound_ThrowsException() {
+        // Arrange
+        when(customerRepository.updateCustomerById(eq(1L), any(), any(), any(), any(), eq(2L))).thenReturn(0);
+        when(customerRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> customerService.updateCustomer(1L,
+                new Customer("Johnny", "Doe", "12345678", "john.doe@example.com"), 2L));
+        verifyNoInteractions(customerOutbox);
     }
 
     @Test
     void testDeleteCustomer_Success() {
         // Arrange
         Long customerId = 1L;
-        Customer customer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        Customer customer = customer(customerId, "John", "12345678", 0L);
 
         when(accountValidationService.canDeleteCustomer(customerId)).thenReturn(true);
+        when(entityCache.contains(Customer.class, customerId)).thenReturn(true);
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
 
         // Act
@@ -157,6 +541,52 @@ class CustomerServiceImplTest {
         // Assert
         assertTrue(result);
         verify(customerRepository).delete(customer);
+        verify(customerRepository, never()).deleteCustomerById(any());
+        verify(customerOutbox).recordDeletion(customerId);
+        verify(customerResponseCache).invalidate(customerId);
+        verify(dniValidationService).unregisterDni();
+        verify(customerAutocomplete).remove(customerId);
+    }
+
+    @Test
+    void testDeleteCustomer_NotCached_DeletesById() {
+        // Arrange
+        Long customerId = 1L;
+
+        when(accountValidationService.canDeleteCustomer(customerId)).thenReturn(true);
+        when(customerRepository.deleteCustomerById(customerId)).thenReturn(1);
+
+        // Act
+        boolean result = customerService.deleteCustomer(customerId);
+
+        // Assert
+        assertTrue(result);
+        verify(customerRepository, never()).findById(any());
+        verify(customerOutbox).recordDeletion(customerId);
+        verify(entityCache).evict(Customer.class, customerId);
+        verify(customerResponseCache).invalidate(customerId);
+        verify(dniValidationService).unregisterDni();
+        verify(customerAutocomplete).remove(customerId);
+    }
+
+    @Test
+    void testDeleteCustomer_DeletedElsewhere_RetriedFromDatabase() {
+        // Arrange
+        Long customerId = 1L;
+        Customer cached = customer(customerId, "John", "12345678", 0L);
+
+        when(accountValidationService.canDeleteCustomer(customerId)).thenReturn(true);
+        when(entityCache.contains(Customer.class, customerId)).thenReturn(true);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(cached)).thenReturn(Optional.empty());
+        doThrow(new ObjectOptimisticLockingFailureException(Customer.class, customerId)).when(customerRepository).delete(cached);
+
+        // Act
+        boolean result = customerService.deleteCustomer(customerId);
+
+        // Assert
+        assertFalse(result);
+        verify(entityCache).evict(Customer.class, customerId);
+        verify(customerResponseCache, never()).invalidate(any());
     }
 
     @Test
@@ -169,6 +599,8 @@ class CustomerServiceImplTest {
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> customerService.deleteCustomer(customerId));
         verify(customerRepository, never()).delete(any(Customer.class));
+        verify(customerRepository, never()).deleteCustomerById(any());
+        assertEquals(1.0, meterRegistry.get("customer.delete.blocked").counter().count());
     }
 
     @Test
@@ -177,13 +609,26 @@ class CustomerServiceImplTest {
         Long customerId = 1L;
 
         when(accountValidationService.canDeleteCustomer(customerId)).thenReturn(true);
-        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+        when(customerRepository.deleteCustomerById(customerId)).thenReturn(0);
 
         // Act
         boolean result = customerService.deleteCustomer(customerId);
 
         // Assert
         assertFalse(result);
-        verify(customerRepository, never()).delete(any(Customer.class));
+        verifyNoInteractions(customerOutbox);
+        verify(dniValidationService, never()).unregisterDni();
+    }
+
+    private void loadThroughResponseCache() {
+        when(customerResponseCache.get(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, Optional<CustomerResponse>>>getArgument(1).apply(invocation.getArgument(0)));
+    }
+
+    private static Customer customer(Long id, String firstName, String dni, Long version) {
+        Customer customer = new Customer(firstName, "Doe", dni, "john.doe@example.com");
+        customer.setId(id);
+        customer.setVersion(version);
+        return customer;
     }
 }
@@ -1,14 +1,24 @@
 package com.example.customer.service.impl;
 
 import com.example.customer.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DniValidationServiceImplTest {
@@ -16,12 +26,17 @@ class DniValidationServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private DniValidationServiceImpl dniValidationService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        dniValidationService = new DniValidationServiceImpl(customerRepository, TransactionOperations.withoutTransaction(),
+                meterRegistry, true, 1000, 0.01);
+        dniValidationService.registerGauges();
     }
 
     @Test
@@ -49,4 +64,128 @@ class DniValidationServiceImplTest {
         // Assert
         assertFalse(result, "Expected false when DNI exists in the database");
     }
+
+    @Test
+    void testIsUnique_WhenFilterSaysAbsent_ShouldSkipDatabase() {
+        // Arrange
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(dniView(1L, "11111111")));
+        dniValidationService.rebuild();
+
+        // Act
+        boolean result = dniValidationService.isUnique("22222222");
+
+        // Assert
+        assertTrue(result, "Expected true when the filter has never seen the DNI");
+        verify(customerRepository, never()).existsByDni(anyString());
+        assertEquals(1.0, meterRegistry.get("customer.dni.filter.lookups").tag("result", "definitely_absent").counter().count());
+    }
+
+    @Test
+    void testIsUnique_WhenFilterSaysMaybePresent_ShouldQueryDatabase() {
+        // Arrange
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(dniView(1L, "11111111")));
+        when(customerRepository.existsByDni("11111111")).thenReturn(true);
+        dniValidationService.rebuild();
+
+        // Act
+        boolean result = dniValidationService.isUnique("11111111");
+
+        // Assert
+        assertFalse(result, "Expected false when the database confirms the DNI exists");
+        verify(customerRepository).existsByDni("11111111");
+        assertEquals(1, meterRegistry.get("customer.repository.exists.by.dni").timer().count());
+    }
+
+    @Test
+    void testRegisterDni_ShouldSendLaterChecksToDatabase() {
+        // Arrange
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any())).thenReturn(List.of());
+        when(customerRepository.existsByDni("33333333")).thenReturn(true);
+        dniValidationService.rebuild();
+
+        // Act
+        dniValidationService.registerDni("33333333");
+        boolean result = dniValidationService.isUnique("33333333");
+
+        // Assert
+        assertFalse(result, "Expected false for a DNI registered after the filter was built");
+        verify(customerRepository).existsByDni("33333333");
+        assertTrue(meterRegistry.get("customer.dni.filter.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void testRegisterDni_DuringRebuild_ReachesRebuiltFilter() {
+        // Arrange
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any())).thenAnswer(invocation -> {
+            dniValidationService.registerDni("33333333"); // Saved after the page was read
+            return List.of(dniView(1L, "11111111"));
+        });
+        when(customerRepository.existsByDni("33333333")).thenReturn(true);
+
+        // Act
+        dniValidationService.rebuild();
+        boolean result = dniValidationService.isUnique("33333333");
+
+        // Assert
+        assertFalse(result, "Expected false for a DNI registered while the filter was being rebuilt");
+        verify(customerRepository).existsByDni("33333333");
+    }
+
+    @Test
+    void testRegisterUpdatedDni_KnownPreviousDni_CountsOnlyChangedDnis() {
+        // Arrange
+        DniValidationServiceImpl service = new DniValidationServiceImpl(customerRepository,
+                TransactionOperations.withoutTransaction(), meterRegistry, true, 100_000, 0.01);
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(dniView(1L, "11111111")));
+        service.rebuild();
+
+        // Act: unchanged DNIs leave no stale entry, however many updates there are
+        for (int i = 0; i < 20_000; i++) {
+            service.registerUpdatedDni("11111111", "11111111");
+        }
+        // Each change leaves one stale entry; the rebuild starts past 10000 of them
+        for (int i = 0; i < 10_000; i++) {
+            service.registerUpdatedDni(String.valueOf(20_000_000 + i), String.valueOf(30_000_000 + i));
+        }
+        verify(customerRepository, times(1)).findDnisByIdGreaterThanOrderByIdAsc(any(), any());
+        service.registerUpdatedDni("40000000", "40000001");
+
+        // Assert
+        verify(customerRepository, timeout(5000).times(2)).findDnisByIdGreaterThanOrderByIdAsc(any(), any());
+        service.shutdown();
+    }
+
+    @Test
+    void testRegisterUpdatedDni_UnknownPreviousDni_InfersChangeFromFilter() {
+        // Arrange
+        when(customerRepository.findDnisByIdGreaterThanOrderByIdAsc(any(), any()))
+                .thenReturn(List.of(dniView(1L, "11111111")));
+        when(customerRepository.existsByDni("22222222")).thenReturn(true);
+        dniValidationService.rebuild();
+
+        // Act
+        dniValidationService.registerUpdatedDni(null, "11111111"); // Seen before: taken as unchanged
+        dniValidationService.registerUpdatedDni(null, "22222222"); // Never seen: a changed DNI
+
+        // Assert
+        assertFalse(dniValidationService.isUnique("22222222"));
+        verify(customerRepository).existsByDni("22222222");
+    }
+
+    private static CustomerRepository.DniView dniView(Long id, String dni) {
+        return new CustomerRepository.DniView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDni() {
+                return dni;
+            }
+        };
+    }
 }
@@ -0,0 +1,123 @@
+package com.example.customer.service.impl;
+
+import com.example.customer.client.BankAccountClient;
+import com.example.customer.mapper.CustomerMapper;
+import com.example.customer.model.Customer;
+import com.example.customer.model.CustomerRow;
+import com.example.customer.repository.ReactiveCustomerIdAllocator;
+import com.example.customer.repository.ReactiveCustomerRepository;
+import com.example.customer.service.DuplicateDniException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveCustomerServiceImplTest {
+
+    @Mock
+    private ReactiveCustomerRepository customerRepository;
+
+    @Mock
+    private ReactiveCustomerIdAllocator idAllocator;
+
+    @Mock
+    private R2dbcEntityTemplate entityTemplate;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private BankAccountClient bankAccountClient;
+
+    private ReactiveCustomerServiceImpl customerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        customerService = new ReactiveCustomerServiceImpl(customerRepository, idAllocator, entityTemplate,
+                transactionalOperator, bankAccountClient);
+    }
+
+    @Test
+    void testCreateCustomer_Success() {
+        // Arrange
+        Customer customer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        when(customerRepository.existsByDni("12345678")).thenReturn(Mono.just(false));
+        when(idAllocator.nextId()).thenReturn(Mono.just(7L));
+        when(entityTemplate.insert(any(CustomerRow.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act
+        Customer result = customerService.createCustomer(customer).block();
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(7L, result.getId());
+        assertEquals("12345678", result.getDni());
+    }
+
+    @Test
+    void testCreateCustomer_DniNotUnique_ThrowsException() {
+        // Arrange
+        Customer customer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        when(customerRepository.existsByDni("12345678")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        assertThrows(DuplicateDniException.class, () -> customerService.createCustomer(customer).block());
+        verify(entityTemplate, never()).insert(any(CustomerRow.class));
+    }
+
+    @Test
+    void testUpdateCustomer_NotFound_ThrowsException() {
+        // Arrange
+        Customer customer = new Customer("John", "Doe", "12345678", "john.doe@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> customerService.updateCustomer(1L, customer).block());
+        verify(customerRepository, never()).save(any(CustomerRow.class));
+    }
+
+    @Test
+    void testUpdateCustomer_DniTaken_ThrowsDuplicateDni() {
+        // Arrange
+        Customer customer = new Customer("John", "Doe", "87654321", "john.doe@example.com");
+        CustomerRow existing = CustomerMapper.toRow(1L, new Customer("John", "Doe", "12345678", "john.doe@example.com"));
+        when(customerRepository.findById(1L)).thenReturn(Mono.just(existing));
+        when(customerRepository.existsByDni("87654321")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        assertThrows(DuplicateDniException.class, () -> customerService.updateCustomer(1L, customer).block());
+        verify(customerRepository, never()).save(any(CustomerRow.class));
+    }
+
+    @Test
+    void testDeleteCustomer_Success() {
+        // Arrange
+        when(bankAccountClient.hasBankAccountsAsync(1L)).thenReturn(Mono.just(false));
+        when(customerRepository.deleteCustomerById(1L)).thenReturn(Mono.just(1));
+
+        // Act
+        Boolean result = customerService.deleteCustomer(1L).block();
+
+        // Assert
+        assertEquals(Boolean.TRUE, result);
+    }
+
+    @Test
+    void testDeleteCustomer_HasActiveAccounts_ThrowsException() {
+        // Arrange
+        when(bankAccountClient.hasBankAccountsAsync(1L)).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> customerService.deleteCustomer(1L).block());
+        verify(customerRepository, never()).deleteCustomerById(any());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.customer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyedLocksTest {
+
+    private final KeyedLocks<String> locks = new KeyedLocks<>();
+
+    @Test
+    void testWithLock_SameKey_RunsOneAtATime() throws Exception {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> locks.withLock("12345678", () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    return running.decrementAndGet();
+                }));
+            }
+        }
+
+        // Assert
+        assertEquals(1, maxRunning.get());
+        assertEquals(0, locks.lockedKeys(), "Expected every lock to be dropped once released");
+    }
+
+    @Test
+    void testWithLock_DifferentKeys_DoNotWait() throws Exception {
+        // Arrange
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> locks.withLock("11111111", () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        held.await();
+
+        // Act
+        boolean ran = CompletableFuture.supplyAsync(() -> locks.withLock("22222222", () -> true)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(ran);
+        assertEquals(0, locks.contendedAcquisitions());
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testWithLock_SameKeyHeld_WaitsForRelease() throws Exception {
+        // Arrange
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> holder = CompletableFuture.supplyAsync(() -> locks.withLock("11111111", () -> {
+            held.countDown();
+            await(release);
+            return null;
+        }));
+        held.await();
+
+        // Act
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> locks.withLock("11111111", () -> true));
+        Thread.sleep(100);
+
+        // Assert
+        assertFalse(waiter.isDone(), "Expected the second caller to wait for the key");
+        release.countDown();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(1, locks.contendedAcquisitions());
+        assertEquals(0, locks.lockedKeys());
+    }
+
+    @Test
+    void testWithLock_ActionThrows_ReleasesLock() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> locks.withLock("11111111", () -> {
+            throw new IllegalStateException("Failed");
+        }));
+
+        // Assert
+        assertEquals(0, locks.lockedKeys());
+        assertTrue(locks.withLock("11111111", () -> true));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}